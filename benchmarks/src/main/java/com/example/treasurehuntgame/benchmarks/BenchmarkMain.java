@@ -0,0 +1,22 @@
+package com.example.treasurehuntgame.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Entry point of benchmarks.jar: the standard JMH command line, except that results are written as
+// JSON to target/jmh-result.json unless -rf/-rff are given, so runs can be compared across commits
+public class BenchmarkMain {
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add(0, "-rf");
+            options.add(1, "json");
+        }
+        if (!options.contains("-rff")) {
+            options.add(0, "-rff");
+            options.add(1, "target/jmh-result.json");
+        }
+        org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.treasurehuntgame.benchmarks;
+
+import com.example.treasurehuntgame.game.core.GameDifficulty;
+import com.example.treasurehuntgame.game.sim.Direction;
+import com.example.treasurehuntgame.game.sim.GameBoard;
+import com.example.treasurehuntgame.game.sim.Level;
+import com.example.treasurehuntgame.game.sim.LevelGenerator;
+
+import java.util.SplittableRandom;
+
+// Shared fixtures: boards of any size with an exact number of enemies and traps, and precomputed
+// player walks, so benchmarks measure the code under test rather than their own setup
+final class Boards {
+    static final long SEED = 42;
+
+    private Boards() {
+    }
+
+    // A generated HARD layout with the given entity counts placed on random walkable cells. Counts are
+    // capped at a third of the free cells each, so large parameters still fit on small grids.
+    static GameBoard create(int gridSize, int enemies, int traps) {
+        Level level = new LevelGenerator().generate(SEED, gridSize, gridSize, GameDifficulty.HARD);
+        GameBoard board = new GameBoard(GameDifficulty.HARD, gridSize, gridSize);
+        board.clear();
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                if (level.isWall(x, y)) {
+                    board.setWall(x, y, true);
+                }
+            }
+        }
+        board.setPlayer(level.playerX, level.playerY);
+        board.setTreasure(level.treasureX, level.treasureY);
+
+        int free = 0;
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                if (board.isWalkable(x, y)) {
+                    free++;
+                }
+            }
+        }
+        enemies = Math.min(enemies, free / 3);
+        traps = Math.min(traps, free / 3);
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < enemies; i++) {
+            int cell = randomFreeCell(board, random);
+            board.addEnemy(cell % gridSize, cell / gridSize);
+        }
+        for (int i = 0; i < traps; i++) {
+            int cell = randomFreeCell(board, random);
+            board.addTrap(cell % gridSize, cell / gridSize);
+        }
+        return board;
+    }
+
+    // Directions of a random walk; steps into walls simply leave the player in place
+    static Direction[] randomWalk(int length) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        Direction[] directions = Direction.values();
+        Direction[] walk = new Direction[length];
+        for (int i = 0; i < length; i++) {
+            walk[i] = directions[random.nextInt(directions.length)];
+        }
+        return walk;
+    }
+
+    private static int randomFreeCell(GameBoard board, SplittableRandom random) {
+        int size = board.getGridWidth();
+        while (true) {
+            int cell = random.nextInt(size * board.getGridHeight());
+            int x = cell % size;
+            int y = cell / size;
+            if (board.isWalkable(x, y) && (x != board.getPlayerX() || y != board.getPlayerY())
+                    && (x != board.getTreasureX() || y != board.getTreasureY())) {
+                return cell;
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.treasurehuntgame.benchmarks;
+
+import com.example.treasurehuntgame.database.ConnectionPool;
+import com.example.treasurehuntgame.database.DatabaseManager;
+import com.example.treasurehuntgame.database.GameRecord;
+import com.example.treasurehuntgame.database.PlayerStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// DatabaseManager against in-memory H2 in Oracle compatibility mode, with the schema built by the
+// same migrations the game runs. Password hashing is turned down to 1000 iterations so these numbers
+// are about SQL and pooling; PasswordHasherBenchmark covers hashing.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dtreasurehunt.pbkdf2.iterations=1000"})
+@State(Scope.Benchmark)
+public class DatabaseBenchmark {
+    private static final String USER = "bench";
+    private static final String PASSWORD = "secret";
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100", "10000"})
+    public int historyRows;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private String url;
+    private DatabaseManager database;
+    private GameRecord deepPageCursor;
+    private List<GameRecord> batch;
+
+    @Setup
+    public void setUp() throws SQLException {
+        url = "jdbc:h2:mem:bench-" + System.nanoTime() + ";MODE=Oracle;DB_CLOSE_DELAY=-1";
+        database = new DatabaseManager(new ConnectionPool(url, "sa", ""));
+        database.initializeTables();
+        database.registerUser(USER, PASSWORD);
+
+        List<GameRecord> history = new ArrayList<>(historyRows);
+        for (int i = 0; i < historyRows; i++) {
+            history.add(GameRecord.create(USER, i % 3 == 0 ? "EASY" : "HARD", i % 2 == 0 ? "WIN" : "LOSS", i % 120));
+        }
+        database.saveGameResults(history);
+
+        // Cursor halfway through the history, for the keyset-paging case
+        GameRecord cursor = null;
+        for (int page = 0; page < historyRows / PAGE_SIZE / 2; page++) {
+            List<GameRecord> records = database.getPlayerHistoryPage(USER, cursor, PAGE_SIZE);
+            cursor = records.get(records.size() - 1);
+        }
+        deepPageCursor = cursor;
+
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(GameRecord.create(USER, "MEDIUM", i % 2 == 0 ? "WIN" : "LOSS", 60));
+        }
+    }
+
+    // saveGameResults only writes MEDIUM games, which the paged history never contains; removing them
+    // keeps the table, its index and the stats row the same size for every iteration
+    @Setup(Level.Iteration)
+    public void resetSavedGames() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM game_history WHERE difficulty = 'MEDIUM'");
+            stmt.executeUpdate("DELETE FROM player_stats WHERE difficulty = 'MEDIUM'");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public boolean authenticateUser() {
+        return database.authenticateUser(USER, PASSWORD);
+    }
+
+    @Benchmark
+    public List<GameRecord> historyFirstPage() {
+        return database.getPlayerHistoryPage(USER, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<GameRecord> historyMiddlePage() {
+        return database.getPlayerHistoryPage(USER, deepPageCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<PlayerStats> playerStats() {
+        return database.getPlayerStats(USER);
+    }
+
+    @Benchmark
+    public boolean saveGameResults() {
+        return database.saveGameResults(batch);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.treasurehuntgame.benchmarks;
+
+import com.example.treasurehuntgame.game.ai.PursuitStrategy;
+import com.example.treasurehuntgame.game.core.GameDifficulty;
+import com.example.treasurehuntgame.game.sim.Direction;
+import com.example.treasurehuntgame.game.sim.GameBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Board setup, player collision checks and enemy pursuit. Boards come from Boards.create, so results
+// scale with gridSize and entity count rather than with the three built-in layouts.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBoardBenchmark {
+    private static final int WALK_LENGTH = 4096;
+
+    @State(Scope.Thread)
+    public static class Layout {
+        @Param({"EASY", "MEDIUM", "HARD"})
+        public GameDifficulty difficulty;
+
+        GameBoard board;
+
+        @Setup
+        public void setUp() {
+            board = new GameBoard(difficulty);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Populated {
+        @Param({"20", "50", "200"})
+        public int gridSize;
+
+        @Param({"4", "32", "256"})
+        public int entities;
+
+        GameBoard board;
+        Direction[] walk;
+        int step;
+
+        @Setup
+        public void setUp() {
+            board = Boards.create(gridSize, entities, entities);
+            walk = Boards.randomWalk(WALK_LENGTH);
+        }
+
+        Direction nextStep() {
+            return walk[step++ & (WALK_LENGTH - 1)];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Pursuit {
+        @Param({"20", "50", "200"})
+        public int gridSize;
+
+        @Param({"4", "32", "256"})
+        public int entities;
+
+        @Param({"DISTANCE_FIELD", "A_STAR"})
+        public PursuitStrategy strategy;
+
+        GameBoard board;
+        Direction[] walk;
+        int step;
+
+        @Setup
+        public void setUp() {
+            board = Boards.create(gridSize, entities, 0);
+            board.setPursuitStrategy(strategy);
+            walk = Boards.randomWalk(WALK_LENGTH);
+        }
+
+        Direction nextStep() {
+            return walk[step++ & (WALK_LENGTH - 1)];
+        }
+    }
+
+    @Benchmark
+    public int initializeGame(Layout layout) {
+        layout.board.initializeGame();
+        return layout.board.getEnemyCount();
+    }
+
+    // One player step plus the occupancy lookups GameSimulation makes after every move
+    @Benchmark
+    public int movePlayerCollision(Populated state) {
+        GameBoard board = state.board;
+        Direction direction = state.nextStep();
+        board.movePlayer(board.getPlayerX() + direction.dx, board.getPlayerY() + direction.dy);
+        int x = board.getPlayerX();
+        int y = board.getPlayerY();
+        return board.getEnemyCountAt(x, y) + board.getTrapAt(x, y);
+    }
+
+    // The player keeps walking so the pursuit target changes every call, as it does in a real game
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int moveEnemies(Pursuit state) {
+        GameBoard board = state.board;
+        Direction direction = state.nextStep();
+        board.movePlayer(board.getPlayerX() + direction.dx, board.getPlayerY() + direction.dy);
+        board.beginTick();
+        board.moveEnemies();
+        return board.getEnemyX(0);
+    }
+}
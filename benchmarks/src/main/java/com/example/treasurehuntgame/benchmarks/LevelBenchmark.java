@@ -0,0 +1,75 @@
+package com.example.treasurehuntgame.benchmarks;
+
+import com.example.treasurehuntgame.game.core.GameDifficulty;
+import com.example.treasurehuntgame.game.sim.GameBoard;
+import com.example.treasurehuntgame.game.sim.GameSimulation;
+import com.example.treasurehuntgame.game.sim.GameSnapshot;
+import com.example.treasurehuntgame.game.sim.Level;
+import com.example.treasurehuntgame.game.sim.LevelCache;
+import com.example.treasurehuntgame.game.sim.LevelGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+// Level generation (a fresh seed every call), loading a cached level, and save-game encode/decode
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LevelBenchmark {
+    @Param({"20", "50", "200", "1000"})
+    public int gridSize;
+
+    @Param({"EASY", "HARD"})
+    public GameDifficulty difficulty;
+
+    private final LevelGenerator generator = new LevelGenerator();
+    private final LevelCache cache = new LevelCache();
+    private long seed;
+    private GameBoard board;
+    private GameSimulation simulation;
+    private byte[] snapshot;
+
+    @Setup
+    public void setUp() {
+        board = new GameBoard(difficulty, gridSize, gridSize);
+        cache.getLevel(Boards.SEED, gridSize, gridSize, difficulty);
+        simulation = new GameSimulation(Boards.create(gridSize, gridSize, gridSize));
+        snapshot = GameSnapshot.encode(simulation);
+    }
+
+    @Benchmark
+    public Level generate() {
+        return generator.generate(seed++, gridSize, gridSize, difficulty);
+    }
+
+    // Play Again path: cache hit plus copying the level onto a board
+    @Benchmark
+    public int loadCachedLevel() {
+        board.loadLevel(cache.getLevel(Boards.SEED, gridSize, gridSize, difficulty));
+        return board.getEnemyCount();
+    }
+
+    @Benchmark
+    public byte[] encodeSnapshot() {
+        return GameSnapshot.encode(simulation);
+    }
+
+    @Benchmark
+    public GameSimulation decodeSnapshot() {
+        return GameSnapshot.decode(ByteBuffer.wrap(snapshot));
+    }
+}
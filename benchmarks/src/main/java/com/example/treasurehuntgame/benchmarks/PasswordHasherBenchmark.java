@@ -0,0 +1,47 @@
+package com.example.treasurehuntgame.benchmarks;
+
+import com.example.treasurehuntgame.database.PasswordHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// PBKDF2 cost per login and registration at the configured iteration counts; 310000 is the default
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PasswordHasherBenchmark {
+    @Param({"10000", "310000"})
+    public int iterations;
+
+    private PasswordHasher hasher;
+    private String storedHash;
+
+    @Setup
+    public void setUp() {
+        hasher = new PasswordHasher(iterations, 1);
+        storedHash = hasher.hash("correct horse battery staple");
+    }
+
+    @Benchmark
+    public String hash() {
+        return hasher.hash("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return hasher.verify("correct horse battery staple", storedHash);
+    }
+}
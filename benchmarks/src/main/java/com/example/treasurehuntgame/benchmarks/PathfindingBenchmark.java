@@ -0,0 +1,51 @@
+package com.example.treasurehuntgame.benchmarks;
+
+import com.example.treasurehuntgame.game.ai.AStarPathfinder;
+import com.example.treasurehuntgame.game.ai.DistanceField;
+import com.example.treasurehuntgame.game.sim.GameBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// The two pursuit strategies in isolation: one BFS distance field over the whole board versus one
+// A* search between opposite corners, the worst case for a single chaser
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PathfindingBenchmark {
+    @Param({"20", "50", "200", "500"})
+    public int gridSize;
+
+    private GameBoard board;
+    private final DistanceField distanceField = new DistanceField();
+    private final AStarPathfinder pathfinder = new AStarPathfinder();
+
+    @Setup
+    public void setUp() {
+        board = Boards.create(gridSize, 0, 0);
+    }
+
+    @Benchmark
+    public int distanceField() {
+        distanceField.compute(board, board.getTreasureX(), board.getTreasureY());
+        return distanceField.get(0, 0);
+    }
+
+    @Benchmark
+    public int aStarAcrossBoard() {
+        return pathfinder.nextStep(board, board.getPlayerX(), board.getPlayerY(), board.getTreasureX(), board.getTreasureY());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.treasurehuntgame.benchmarks;
+
+import com.example.treasurehuntgame.game.sim.Direction;
+import com.example.treasurehuntgame.game.sim.GameBoard;
+import com.example.treasurehuntgame.game.ui.Camera;
+import com.example.treasurehuntgame.game.ui.GameRenderer;
+import javafx.application.Platform;
+import javafx.scene.canvas.Canvas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// GameRenderer against an offscreen Canvas that is never attached to a scene. This measures building
+// the draw command stream, which is what render() costs the FX thread; rasterisation happens later on
+// the render thread and is not included. The static layer snapshot needs the FX toolkit, so it is
+// built once on the FX thread during setup. Needs a display (use xvfb-run on a headless machine).
+// The renderer draws through the game's default camera, so with a fixed viewport the cost should
+// stay flat as gridSize grows past what fits in the window.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dprism.order=sw"})
+@State(Scope.Thread)
+public class RenderBenchmark {
+    @Param({"10", "20", "50", "200", "1000"})
+    public int gridSize;
+
+    @Param({"4", "32"})
+    public int entities;
+
+    private GameBoard board;
+    private GameRenderer renderer;
+    private Direction forward;
+    private Direction backward;
+    private int step;
+
+    @Setup
+    public void setUp() throws Exception {
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        try {
+            Platform.startup(() -> started.complete(null));
+        } catch (IllegalStateException alreadyStarted) {
+            started.complete(null);
+        }
+        started.get();
+
+        board = Boards.create(gridSize, entities, entities);
+        Camera camera = Camera.fitting(board, Camera.DEFAULT_MAX_VIEWPORT, Camera.DEFAULT_MAX_VIEWPORT);
+        renderer = new GameRenderer(board, camera);
+        boolean right = board.isWalkable(board.getPlayerX() + 1, board.getPlayerY());
+        forward = right ? Direction.RIGHT : Direction.DOWN;
+        backward = right ? Direction.LEFT : Direction.UP;
+        Canvas canvas = new Canvas(camera.getViewportWidth(), camera.getViewportHeight());
+        renderer.setGraphicsContext(canvas.getGraphicsContext2D());
+        CompletableFuture<Void> firstFrame = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            renderer.render();
+            firstFrame.complete(null);
+        });
+        firstFrame.get();
+    }
+
+    // A full repaint covers the whole canvas, which also lets the canvas drop its queued commands
+    @Setup(Level.Iteration)
+    public void resetCanvas() {
+        renderer.invalidate();
+        renderer.render();
+    }
+
+    @Benchmark
+    public long fullRepaint() {
+        renderer.invalidate();
+        renderer.render(0.5);
+        return renderer.getTotalCellsPainted();
+    }
+
+    // The common frame: the player takes a step, so only the cells it left and entered are repainted.
+    // The player steps back and forth next to its start, since scrolling the camera rebuilds the static
+    // layer, which has to happen on the FX thread.
+    @Benchmark
+    public long dirtyCells() {
+        Direction direction = (step++ & 1) == 0 ? forward : backward;
+        board.movePlayer(board.getPlayerX() + direction.dx, board.getPlayerY() + direction.dy);
+        renderer.render(0.5);
+        return renderer.getTotalCellsPainted();
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.treasurehuntgame;
 
-import com.example.treasurehuntgame.database.DatabaseManager;
+import com.example.treasurehuntgame.database.AsyncDatabase;
+import com.example.treasurehuntgame.database.CachingGameRepository;
+import com.example.treasurehuntgame.database.GameRepository;
 import com.example.treasurehuntgame.game.core.GameDifficulty;
 import com.example.treasurehuntgame.game.core.GameEngine;
+import com.example.treasurehuntgame.game.sim.GameSimulation;
+import com.example.treasurehuntgame.game.sim.GameSnapshot;
+import com.example.treasurehuntgame.game.sim.LevelCache;
 import com.example.treasurehuntgame.game.ui.GameUI;
+import com.example.treasurehuntgame.metrics.GameMetrics;
 import com.example.treasurehuntgame.scenes.GameHistoryScene;
 import com.example.treasurehuntgame.scenes.LoginScene;
 import com.example.treasurehuntgame.scenes.MainMenuScene;
@@ -11,10 +17,17 @@ import com.example.treasurehuntgame.scenes.RegistrationScene;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+
 public class TreasureHuntGame extends Application {
     private Stage primaryStage;
     private String currentPlayer;
-    private DatabaseManager dbManager;
+    private AsyncDatabase database;
+    private final LevelCache levelCache = new LevelCache();
+    private final GameMetrics metrics = new GameMetrics();
     private LoginScene loginScene;
     private RegistrationScene registrationScene;
     private MainMenuScene mainMenuScene;
@@ -24,8 +37,8 @@ public class TreasureHuntGame extends Application {
     @Override
     public void start(Stage primaryStage) {
         this.primaryStage = primaryStage;
-        this.dbManager = new DatabaseManager();
-        dbManager.initializeTables();
+        this.database = new AsyncDatabase(new CachingGameRepository(GameRepository.fromSystemProperties()), metrics);
+        database.initializeAsync();
 
         primaryStage.setTitle("Treasure Hunt Game");
         primaryStage.setResizable(true);
@@ -34,15 +47,22 @@ public class TreasureHuntGame extends Application {
         primaryStage.setWidth(800);
         primaryStage.setHeight(800);
 
-        loginScene = new LoginScene(this, dbManager);
-        registrationScene = new RegistrationScene(this, dbManager);
-        mainMenuScene = new MainMenuScene(this, dbManager);
-        gameHistoryScene = new GameHistoryScene(this, dbManager);
+        loginScene = new LoginScene(this, database);
+        registrationScene = new RegistrationScene(this, database);
+        mainMenuScene = new MainMenuScene(this, database);
+        gameHistoryScene = new GameHistoryScene(this, database);
 
         showLoginScene();
         primaryStage.show();
     }
 
+    @Override
+    public void stop() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
     public static void main(String[] args) { launch(args); }
 
     public void showLoginScene() {
@@ -76,11 +96,50 @@ public class TreasureHuntGame extends Application {
     }
 
     public void startGame(GameDifficulty difficulty) {
-        GameEngine gameEngine = new GameEngine(difficulty, currentPlayer, this);
+        startGame(difficulty, ThreadLocalRandom.current().nextLong());
+    }
+
+    public void startGame(GameDifficulty difficulty, long levelSeed) {
+        if (gameUI != null) {
+            gameUI.closeGameStage();
+            gameUI = null;
+        }
+        GameEngine gameEngine = new GameEngine(difficulty, levelSeed, currentPlayer, this);
         gameEngine.startGame();
         this.gameUI = gameEngine.getGameUI();
     }
 
+    public boolean hasSavedGame() {
+        return currentPlayer != null && Files.exists(GameSnapshot.fileFor(currentPlayer));
+    }
+
+    public void resumeGame() {
+        Path file = GameSnapshot.fileFor(currentPlayer);
+        GameSimulation simulation;
+        try {
+            simulation = GameSnapshot.read(file);
+        } catch (IOException e) {
+            System.err.println("Load saved game error: " + e.getMessage());
+            return;
+        } catch (RuntimeException e) {
+            // Truncated or from an incompatible version; drop it so the menu stops offering it
+            System.err.println("Discarding unreadable saved game: " + e);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+            }
+            showMainMenu();
+            return;
+        }
+        if (gameUI != null) {
+            gameUI.closeGameStage();
+            gameUI = null;
+        }
+        GameEngine gameEngine = new GameEngine(simulation.getDifficulty(), simulation.getBoard().getLevelSeed(), currentPlayer, this);
+        gameEngine.resumeGame(simulation);
+        this.gameUI = gameEngine.getGameUI();
+    }
+
     public void returnToMainMenu() {
         showMainMenu();
     }
@@ -88,4 +147,16 @@ public class TreasureHuntGame extends Application {
     public void setCurrentPlayer(String player) {
         this.currentPlayer = player;
     }
+
+    public AsyncDatabase getDatabase() {
+        return database;
+    }
+
+    public LevelCache getLevelCache() {
+        return levelCache;
+    }
+
+    public GameMetrics getMetrics() {
+        return metrics;
+    }
 }
\ No newline at end of file
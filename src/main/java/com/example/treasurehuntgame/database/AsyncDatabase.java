@@ -0,0 +1,163 @@
+package com.example.treasurehuntgame.database;
+
+import com.example.treasurehuntgame.metrics.GameMetrics;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+// Runs GameRepository calls off the JavaFX Application Thread. Cancelling a returned future interrupts its query.
+// Also owns the write-behind queue for game results and the leaderboard fed by it.
+public class AsyncDatabase implements AutoCloseable {
+    private final GameRepository repository;
+    private final ExecutorService executor;
+    private final Leaderboard leaderboard = new Leaderboard();
+    private final GameResultWriter resultWriter;
+    private final GameMetrics metrics;
+    private volatile CompletableFuture<Void> ready = CompletableFuture.completedFuture(null);
+
+    public AsyncDatabase(GameRepository repository) {
+        this(repository, new GameMetrics());
+    }
+
+    public AsyncDatabase(GameRepository repository, GameMetrics metrics) {
+        this(repository, Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("db-", 0).factory()), metrics);
+    }
+
+    public AsyncDatabase(GameRepository repository, ExecutorService executor, GameMetrics metrics) {
+        this.repository = repository;
+        this.executor = executor;
+        this.metrics = metrics;
+        this.resultWriter = new GameResultWriter(repository, this::recordWins, metrics);
+    }
+
+    public void initialize() {
+        repository.initializeTables();
+        leaderboard.load(repository.getBestWinTimes());
+    }
+
+    // Runs initialize() in the background; queries submitted meanwhile wait for it to finish.
+    // If it fails, the returned future and every query fail with the cause.
+    public CompletableFuture<Void> initializeAsync() {
+        CompletableFuture<Void> initialized = new CompletableFuture<>();
+        ready = initialized;
+        executor.execute(() -> {
+            try {
+                initialize();
+                initialized.complete(null);
+            } catch (Throwable t) {
+                System.err.println("Database initialization error: " + t.getMessage());
+                initialized.completeExceptionally(t);
+            }
+        });
+        return initialized;
+    }
+
+    // Completes when the last initializeAsync() has finished, exceptionally if the database is unavailable
+    public CompletableFuture<Void> whenReady() {
+        return ready;
+    }
+
+    public CompletableFuture<Boolean> registerUser(String username, String password) {
+        return submit("registerUser", () -> repository.registerUser(username, password));
+    }
+
+    public CompletableFuture<Boolean> authenticateUser(String username, String password) {
+        return submit("authenticateUser", () -> repository.authenticateUser(username, password));
+    }
+
+    public CompletableFuture<Boolean> userExists(String username) {
+        return submit("userExists", () -> repository.userExists(username));
+    }
+
+    public CompletableFuture<List<GameRecord>> getPlayerHistoryPage(String username, GameRecord after, int pageSize) {
+        return submit("getPlayerHistoryPage", () -> repository.getPlayerHistoryPage(username, after, pageSize));
+    }
+
+    public CompletableFuture<List<PlayerStats>> getPlayerStats(String username) {
+        return submit("getPlayerStats", () -> repository.getPlayerStats(username));
+    }
+
+    public GameRecord submitGameResult(String username, String difficulty, String result, int timeSpent) {
+        GameRecord record = GameRecord.create(username, difficulty, result, timeSpent);
+        resultWriter.submit(record);
+        return record;
+    }
+
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    public GameResultWriter getResultWriter() {
+        return resultWriter;
+    }
+
+    public GameRepository getRepository() {
+        return repository;
+    }
+
+    private void recordWins(List<GameRecord> records) {
+        for (GameRecord record : records) {
+            if ("WIN".equals(record.result)) {
+                leaderboard.recordWin(record.username, record.difficulty, record.timeSpent);
+            }
+        }
+    }
+
+    // Each call's time inside the repository is recorded under the operation name
+    private <T> CompletableFuture<T> submit(String operation, Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        ready.whenComplete((initialized, initError) -> {
+            if (result.isDone()) {
+                return;
+            }
+            if (initError != null) {
+                result.completeExceptionally(new IllegalStateException("Database unavailable", initError));
+                return;
+            }
+            Future<?> running;
+            try {
+                running = executor.submit(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        result.complete(task.call());
+                    } catch (Throwable t) {
+                        result.completeExceptionally(t);
+                    } finally {
+                        metrics.recordDatabaseCall(operation, System.nanoTime() - start);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            result.whenComplete((value, error) -> {
+                if (result.isCancelled()) {
+                    running.cancel(true);
+                }
+            });
+        });
+        return result;
+    }
+
+    // Drains pending game results before the repository is closed
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        resultWriter.close();
+        repository.close();
+    }
+}
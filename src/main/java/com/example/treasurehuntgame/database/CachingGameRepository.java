@@ -0,0 +1,100 @@
+package com.example.treasurehuntgame.database;
+
+import java.util.List;
+
+// Serves logins and username checks from a CredentialCache, falling through to the wrapped repository on a miss.
+public class CachingGameRepository implements GameRepository {
+    private final GameRepository delegate;
+    private final CredentialCache credentialCache;
+
+    public CachingGameRepository(GameRepository delegate) {
+        this(delegate, new CredentialCache());
+    }
+
+    public CachingGameRepository(GameRepository delegate, CredentialCache credentialCache) {
+        this.delegate = delegate;
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    public void initializeTables() {
+        delegate.initializeTables();
+    }
+
+    @Override
+    public boolean registerUser(String username, String password) {
+        CredentialCache.Entry cached = credentialCache.lookup(username);
+        if (cached != null && cached.passwordHash != null) {
+            return false;
+        }
+        boolean registered = delegate.registerUser(username, password);
+        // Drop any negative entry either way: on failure the name is most likely taken after all
+        credentialCache.invalidate(username);
+        return registered;
+    }
+
+    @Override
+    public boolean authenticateUser(String username, String password) {
+        if (credentialCache.isThrottled(username)) {
+            return false;
+        }
+
+        if (GameRepository.super.authenticateUser(username, password)) {
+            credentialCache.recordSuccess(username);
+            return true;
+        }
+        credentialCache.recordFailure(username);
+        return false;
+    }
+
+    @Override
+    public String getPasswordHash(String username) {
+        CredentialCache.Entry cached = credentialCache.lookup(username);
+        if (cached != null) {
+            return cached.passwordHash;
+        }
+        String storedPassword = delegate.getPasswordHash(username);
+        credentialCache.put(username, storedPassword);
+        return storedPassword;
+    }
+
+    @Override
+    public boolean updatePasswordHash(String username, String passwordHash) {
+        boolean updated = delegate.updatePasswordHash(username, passwordHash);
+        if (updated) {
+            credentialCache.put(username, passwordHash);
+        } else {
+            credentialCache.invalidate(username);
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean saveGameResults(List<GameRecord> records) {
+        return delegate.saveGameResults(records);
+    }
+
+    @Override
+    public List<GameRecord> getPlayerHistoryPage(String username, GameRecord after, int pageSize) {
+        return delegate.getPlayerHistoryPage(username, after, pageSize);
+    }
+
+    @Override
+    public List<PlayerStats> getPlayerStats(String username) {
+        return delegate.getPlayerStats(username);
+    }
+
+    @Override
+    public List<PlayerStats> getBestWinTimes() {
+        return delegate.getBestWinTimes();
+    }
+
+    public CredentialCache getCredentialCache() {
+        return credentialCache;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
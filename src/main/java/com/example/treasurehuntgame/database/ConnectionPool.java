@@ -0,0 +1,256 @@
+package com.example.treasurehuntgame.database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded JDBC pool. Works with any driver URL, so an in-process database can stand in for Oracle.
+public class ConnectionPool implements AutoCloseable {
+    public static final int DEFAULT_MAX_SIZE = 5;
+    public static final long DEFAULT_BORROW_TIMEOUT_MILLIS = 5_000;
+    public static final long DEFAULT_MAX_IDLE_MILLIS = 60_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long maxIdleMillis;
+    private final Semaphore permits;
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed = false;
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowWaitNanos = new LongAdder();
+    private final AtomicLong maxBorrowWaitNanos = new AtomicLong();
+    private final LongAdder borrowTimeouts = new LongAdder();
+    private final LongAdder connectionsCreated = new LongAdder();
+    private final LongAdder connectionsDiscarded = new LongAdder();
+
+    public ConnectionPool(String url, String user, String password) {
+        this(url, user, password, DEFAULT_MAX_SIZE, DEFAULT_BORROW_TIMEOUT_MILLIS, DEFAULT_MAX_IDLE_MILLIS);
+    }
+
+    public ConnectionPool(String url, String user, String password, int maxSize, long borrowTimeoutMillis, long maxIdleMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive: " + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.maxIdleMillis = maxIdleMillis;
+        this.permits = new Semaphore(maxSize, true);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long sweepInterval = Math.max(1_000, maxIdleMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdleConnections, sweepInterval, sweepInterval, TimeUnit.MILLISECONDS);
+    }
+
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                borrowTimeouts.increment();
+                throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis + " ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordBorrowWait(System.nanoTime() - waitStart);
+
+        try {
+            Connection raw = takeIdleConnection();
+            if (raw == null) {
+                raw = DriverManager.getConnection(url, user, password);
+                connectionsCreated.increment();
+            }
+            activeCount.incrementAndGet();
+            borrowCount.increment();
+            return wrap(raw);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Connection takeIdleConnection() {
+        while (true) {
+            IdleConnection candidate;
+            synchronized (idle) {
+                candidate = idle.pollFirst();
+            }
+            if (candidate == null) {
+                return null;
+            }
+            if (isExpired(candidate, System.currentTimeMillis()) || !isValid(candidate.connection)) {
+                discard(candidate.connection);
+                continue;
+            }
+            return candidate.connection;
+        }
+    }
+
+    private boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(IdleConnection candidate, long now) {
+        return now - candidate.idleSince > maxIdleMillis;
+    }
+
+    private void release(Connection raw) {
+        activeCount.decrementAndGet();
+        try {
+            if (closed || raw.isClosed()) {
+                discard(raw);
+                return;
+            }
+            if (!raw.getAutoCommit()) {
+                raw.rollback();
+                raw.setAutoCommit(true);
+            }
+            synchronized (idle) {
+                // Most recently used first, so rarely needed connections age out
+                idle.offerFirst(new IdleConnection(raw, System.currentTimeMillis()));
+            }
+        } catch (SQLException e) {
+            discard(raw);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void evictIdleConnections() {
+        long now = System.currentTimeMillis();
+        synchronized (idle) {
+            Iterator<IdleConnection> iterator = idle.descendingIterator();
+            while (iterator.hasNext()) {
+                IdleConnection candidate = iterator.next();
+                if (isExpired(candidate, now)) {
+                    iterator.remove();
+                    discard(candidate.connection);
+                }
+            }
+        }
+    }
+
+    private void discard(Connection raw) {
+        connectionsDiscarded.increment();
+        try {
+            raw.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    private void recordBorrowWait(long waitNanos) {
+        borrowWaitNanos.add(waitNanos);
+        maxBorrowWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private Connection wrap(Connection raw) {
+        AtomicBoolean returned = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (returned.compareAndSet(false, true)) {
+                                release(raw);
+                            }
+                            return null;
+                        case "isClosed":
+                            return returned.get() || raw.isClosed();
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Pooled[" + raw + "]";
+                        default:
+                            if (returned.get()) {
+                                throw new SQLException("Connection has already been returned to the pool");
+                            }
+                            try {
+                                return method.invoke(raw, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                });
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        synchronized (idle) {
+            for (IdleConnection candidate : idle) {
+                discard(candidate.connection);
+            }
+            idle.clear();
+        }
+    }
+
+    public int getMaxSize() { return maxSize; }
+    public int getActiveCount() { return activeCount.get(); }
+    public long getBorrowCount() { return borrowCount.sum(); }
+    public long getBorrowTimeouts() { return borrowTimeouts.sum(); }
+    public long getConnectionsCreated() { return connectionsCreated.sum(); }
+    public long getConnectionsDiscarded() { return connectionsDiscarded.sum(); }
+
+    public int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    public double getAverageBorrowWaitMillis() {
+        long borrows = borrowCount.sum();
+        return borrows == 0 ? 0 : borrowWaitNanos.sum() / 1_000_000.0 / borrows;
+    }
+
+    public double getMaxBorrowWaitMillis() {
+        return maxBorrowWaitNanos.get() / 1_000_000.0;
+    }
+
+    private static final class IdleConnection {
+        final Connection connection;
+        final long idleSince;
+
+        IdleConnection(Connection connection, long idleSince) {
+            this.connection = connection;
+            this.idleSince = idleSince;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.treasurehuntgame.database;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded LRU cache of stored password hashes with TTL, including negative entries for unknown
+// usernames, plus a per-username failed-login counter used for throttling.
+public class CredentialCache {
+    public static final int DEFAULT_MAX_ENTRIES = 1_000;
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    public static final long DEFAULT_NEGATIVE_TTL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    public static final int DEFAULT_MAX_FAILED_ATTEMPTS = 5;
+    public static final long DEFAULT_LOCKOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final int maxFailedAttempts;
+    private final long lockoutNanos;
+    private final Map<String, Entry> entries;
+    private final Map<String, Failures> failures;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    public CredentialCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MILLIS, DEFAULT_NEGATIVE_TTL_MILLIS, DEFAULT_MAX_FAILED_ATTEMPTS, DEFAULT_LOCKOUT_MILLIS);
+    }
+
+    public CredentialCache(int maxEntries, long ttlMillis, long negativeTtlMillis, int maxFailedAttempts, long lockoutMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMillis);
+        this.maxFailedAttempts = maxFailedAttempts;
+        this.lockoutNanos = TimeUnit.MILLISECONDS.toNanos(lockoutMillis);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > CredentialCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.failures = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Failures> eldest) {
+                return size() > CredentialCache.this.maxEntries;
+            }
+        };
+    }
+
+    // Returns the cached lookup, or null on a miss. A hit on an unknown user has a null passwordHash.
+    public synchronized Entry lookup(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null || System.nanoTime() - entry.expiresAt > 0) {
+            if (entry != null) {
+                entries.remove(username);
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry;
+    }
+
+    public synchronized void put(String username, String passwordHash) {
+        long ttl = passwordHash == null ? negativeTtlNanos : ttlNanos;
+        entries.put(username, new Entry(passwordHash, System.nanoTime() + ttl));
+    }
+
+    public synchronized void invalidate(String username) {
+        entries.remove(username);
+    }
+
+    public synchronized boolean isThrottled(String username) {
+        Failures entry = failures.get(username);
+        if (entry == null || entry.lockedUntil == 0) {
+            return false;
+        }
+        if (System.nanoTime() - entry.lockedUntil > 0) {
+            failures.remove(username);
+            return false;
+        }
+        throttled.increment();
+        return true;
+    }
+
+    public synchronized void recordFailure(String username) {
+        Failures entry = failures.computeIfAbsent(username, u -> new Failures());
+        entry.count++;
+        if (entry.count >= maxFailedAttempts) {
+            entry.lockedUntil = System.nanoTime() + lockoutNanos;
+        }
+    }
+
+    public synchronized void recordSuccess(String username) {
+        failures.remove(username);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+    public long getThrottledCount() { return throttled.sum(); }
+
+    public double getHitRate() {
+        long total = hits.sum() + misses.sum();
+        return total == 0 ? 0 : (double) hits.sum() / total;
+    }
+
+    public static final class Entry {
+        public final String passwordHash;
+        final long expiresAt;
+
+        Entry(String passwordHash, long expiresAt) {
+            this.passwordHash = passwordHash;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Failures {
+        int count;
+        long lockedUntil;
+    }
+}
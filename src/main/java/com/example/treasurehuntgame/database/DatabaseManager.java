@@ -2,64 +2,122 @@
 package com.example.treasurehuntgame.database;
 
 import java.sql.*;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
-public class DatabaseManager {
+public class DatabaseManager implements GameRepository {
     private static final String DB_URL = "jdbc:oracle:thin:@localhost:1521:XE";
     private static final String DB_USER = "TREASUREHUNT";
     private static final String DB_PASSWORD = "123";
 
+    private final ConnectionPool connectionPool;
+
+    public DatabaseManager() {
+        this(new ConnectionPool(DB_URL, DB_USER, DB_PASSWORD));
+    }
+
+    public DatabaseManager(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    @Override
     public void initializeTables() {
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD)) {
-
-            try (Statement stmt = conn.createStatement()) {
-                try {
-                    String createUsersTable = """
-                    CREATE TABLE users (
-                        id NUMBER GENERATED BY DEFAULT ON NULL AS IDENTITY PRIMARY KEY,
-                        username VARCHAR2(50) UNIQUE NOT NULL,
-                        password VARCHAR2(100) NOT NULL,
-                        created_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-                    )
-                """;
-
-                    String createHistoryTable = """
-                    CREATE TABLE game_history (
-                        id NUMBER GENERATED BY DEFAULT ON NULL AS IDENTITY PRIMARY KEY,
-                        username VARCHAR2(50) NOT NULL,
-                        difficulty VARCHAR2(10) NOT NULL,
-                        result VARCHAR2(10) NOT NULL,
-                        time_spent NUMBER NOT NULL,
-                        play_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                        FOREIGN KEY (username) REFERENCES users(username)
-                    )
-                """;
-
-                    stmt.execute(createUsersTable);
-                    stmt.execute(createHistoryTable);
-                    System.out.println("Tables created successfully with IDENTITY columns");
-
-                } catch (SQLException e) {
-                    // If IDENTITY syntax fails, try traditional sequence approach
-                    if (e.getErrorCode() == 2000 || e.getMessage().contains("missing ALWAYS keyword")) {
-                        System.out.println("IDENTITY columns not supported, using sequences...");
-                        createTablesWithSequences(stmt);
-                    } else if (e.getMessage().contains("name is already used") ||
-                            e.getMessage().contains("already exists")) {
-                        System.out.println("Tables already exist");
-                    } else {
-                        throw e;
-                    }
-                }
-            }
+        SchemaMigrator migrator = new SchemaMigrator(connectionPool)
+                .baseline(this::detectExistingSchema)
+                .add(1, "users and game_history tables", this::createTables)
+                .add(2, "game_history (username, play_time, id) index", this::createHistoryIndex)
+                .add(3, "player_stats summary table", this::createStatsTable);
+        try {
+            migrator.migrate();
         } catch (SQLException e) {
             System.err.println("Database initialization error: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    // Databases created before schema_version existed: map the objects already present to a version.
+    // Reads the JDBC metadata rather than Oracle's data dictionary, so it also runs against H2.
+    private int detectExistingSchema(Connection conn) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        String schema = conn.getSchema();
+        if (!hasTable(metaData, schema, "USERS") || !hasTable(metaData, schema, "GAME_HISTORY")) {
+            return 0;
+        }
+        if (!hasIndex(metaData, schema, "GAME_HISTORY", "GAME_HISTORY_USER_TIME_IDX")) {
+            return 1;
+        }
+        return hasTable(metaData, schema, "PLAYER_STATS") ? 3 : 2;
+    }
+
+    private static boolean hasTable(DatabaseMetaData metaData, String schema, String table) throws SQLException {
+        try (ResultSet rs = metaData.getTables(null, schema, table, new String[]{"TABLE"})) {
+            return rs.next();
+        }
+    }
+
+    private static boolean hasIndex(DatabaseMetaData metaData, String schema, String table, String index) throws SQLException {
+        // approximate = true, so Oracle does not analyze the table to fill in statistics
+        try (ResultSet rs = metaData.getIndexInfo(null, schema, table, false, true)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // Oracle needs ON NULL for an explicit NULL id to draw from the identity; other databases,
+    // such as H2 in Oracle mode for tests and benchmarks, only accept the standard clause
+    private static String identityClause(Statement stmt) throws SQLException {
+        String product = stmt.getConnection().getMetaData().getDatabaseProductName();
+        return "Oracle".equalsIgnoreCase(product)
+                ? "GENERATED BY DEFAULT ON NULL AS IDENTITY"
+                : "GENERATED BY DEFAULT AS IDENTITY";
+    }
+
+    private void createTables(Statement stmt) throws SQLException {
+        String identity = identityClause(stmt);
+        try {
+            String createUsersTable = """
+            CREATE TABLE users (
+                id NUMBER %s PRIMARY KEY,
+                username VARCHAR2(50) UNIQUE NOT NULL,
+                password VARCHAR2(100) NOT NULL,
+                created_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            )
+        """.formatted(identity);
+
+            String createHistoryTable = """
+            CREATE TABLE game_history (
+                id NUMBER %s PRIMARY KEY,
+                username VARCHAR2(50) NOT NULL,
+                difficulty VARCHAR2(10) NOT NULL,
+                result VARCHAR2(10) NOT NULL,
+                time_spent NUMBER NOT NULL,
+                play_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                FOREIGN KEY (username) REFERENCES users(username)
+            )
+        """.formatted(identity);
+
+            SchemaMigrator.create(stmt, createUsersTable);
+            SchemaMigrator.create(stmt, createHistoryTable);
+            System.out.println("Tables created successfully with IDENTITY columns");
+
+        } catch (SQLException e) {
+            // If IDENTITY syntax fails, try traditional sequence approach
+            if (e.getErrorCode() == 2000 || e.getMessage().contains("missing ALWAYS keyword")) {
+                System.out.println("IDENTITY columns not supported, using sequences...");
+                createTablesWithSequences(stmt);
+            } else {
+                throw e;
+            }
+        }
+    }
+
     private void createTablesWithSequences(Statement stmt) throws SQLException {
         // Create sequences first
         try {
@@ -152,13 +210,50 @@ public class DatabaseManager {
         }
     }
 
+    private void createHistoryIndex(Statement stmt) throws SQLException {
+        SchemaMigrator.create(stmt, "CREATE INDEX game_history_user_time_idx ON game_history (username, play_time, id)");
+    }
+
+    private void createStatsTable(Statement stmt) throws SQLException {
+        String createStatsTable = """
+            CREATE TABLE player_stats (
+                username VARCHAR2(50) NOT NULL,
+                difficulty VARCHAR2(10) NOT NULL,
+                games_played NUMBER NOT NULL,
+                wins NUMBER NOT NULL,
+                total_time NUMBER NOT NULL,
+                best_win_time NUMBER,
+                PRIMARY KEY (username, difficulty),
+                FOREIGN KEY (username) REFERENCES users(username)
+            )
+        """;
+        SchemaMigrator.create(stmt, createStatsTable);
+
+        // One-off backfill from existing history; afterwards the table is maintained incrementally.
+        // It runs in the same transaction as the version bump, after the CREATE has committed.
+        stmt.executeUpdate("DELETE FROM player_stats");
+        String backfill = """
+            INSERT INTO player_stats (username, difficulty, games_played, wins, total_time, best_win_time)
+            SELECT username, difficulty, COUNT(*),
+                   SUM(CASE WHEN result = 'WIN' THEN 1 ELSE 0 END),
+                   SUM(time_spent),
+                   MIN(CASE WHEN result = 'WIN' THEN time_spent END)
+            FROM game_history
+            GROUP BY username, difficulty
+        """;
+        stmt.executeUpdate(backfill);
+    }
+
+    @Override
     public boolean registerUser(String username, String password) {
+        // Hash before borrowing a connection; the KDF is deliberately slow and the pool is small
+        String passwordHash = PasswordHasher.getDefault().hash(password);
         String sql = "INSERT INTO users (username, password) VALUES (?, ?)";
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = connectionPool.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, username);
-            pstmt.setString(2, hashPassword(password));
+            pstmt.setString(2, passwordHash);
             pstmt.executeUpdate();
             return true;
 
@@ -168,75 +263,255 @@ public class DatabaseManager {
         }
     }
 
-    public boolean authenticateUser(String username, String password) {
+    @Override
+    public String getPasswordHash(String username) {
         String sql = "SELECT password FROM users WHERE username = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = connectionPool.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, username);
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                String storedPassword = rs.getString("password");
-                return verifyPassword(password, storedPassword);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getString("password") : null;
             }
+
+        } catch (SQLException e) {
+            throw new IllegalStateException("Password lookup failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean updatePasswordHash(String username, String passwordHash) {
+        String sql = "UPDATE users SET password = ? WHERE username = ?";
+        try (Connection conn = connectionPool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, passwordHash);
+            pstmt.setString(2, username);
+            return pstmt.executeUpdate() == 1;
+
+        } catch (SQLException e) {
+            System.err.println("Update password error: " + e.getMessage());
             return false;
+        }
+    }
 
+    @Override
+    public boolean saveGameResults(List<GameRecord> records) {
+        String sql = "INSERT INTO game_history (username, difficulty, result, time_spent, play_time) VALUES (?, ?, ?, ?, ?)";
+        try (Connection conn = connectionPool.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                // Records for unknown users would fail the foreign key and with it the whole batch
+                List<GameRecord> valid = knownUserRecords(conn, records);
+                for (GameRecord record : valid) {
+                    pstmt.setString(1, record.username);
+                    pstmt.setString(2, record.difficulty);
+                    pstmt.setString(3, record.result);
+                    pstmt.setInt(4, record.timeSpent);
+                    pstmt.setTimestamp(5, Timestamp.valueOf(record.playedAt));
+                    pstmt.addBatch();
+                }
+                if (!valid.isEmpty()) {
+                    pstmt.executeBatch();
+                    updatePlayerStats(conn, valid);
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
         } catch (SQLException e) {
-            System.err.println("Authentication error: " + e.getMessage());
+            System.err.println("Save game results batch error: " + e.getMessage());
             return false;
         }
     }
 
-    public void saveGameResult(String username, String difficulty, String result, int timeSpent) {
-        String sql = "INSERT INTO game_history (username, difficulty, result, time_spent) VALUES (?, ?, ?, ?)";
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    // One lookup per distinct username; a batch usually holds a single player's games
+    private List<GameRecord> knownUserRecords(Connection conn, List<GameRecord> records) throws SQLException {
+        Map<String, Boolean> known = new HashMap<>();
+        List<GameRecord> valid = new ArrayList<>(records.size());
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT 1 FROM users WHERE username = ?")) {
+            for (GameRecord record : records) {
+                Boolean exists = known.get(record.username);
+                if (exists == null) {
+                    pstmt.setString(1, record.username);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        exists = rs.next();
+                    }
+                    known.put(record.username, exists);
+                }
+                if (exists) {
+                    valid.add(record);
+                } else {
+                    System.err.println("Save game result skipped: unknown user " + record.username);
+                }
+            }
+        }
+        return valid;
+    }
 
-            pstmt.setString(1, username);
-            pstmt.setString(2, difficulty);
-            pstmt.setString(3, result);
-            pstmt.setInt(4, timeSpent);
-            pstmt.executeUpdate();
+    private void updatePlayerStats(Connection conn, List<GameRecord> records) throws SQLException {
+        // Fold the batch into one delta per (username, difficulty) before merging
+        Map<String, PlayerStats> deltas = new LinkedHashMap<>();
+        for (GameRecord record : records) {
+            String key = record.username + '\u0000' + record.difficulty;
+            PlayerStats delta = deltas.computeIfAbsent(key, k -> {
+                PlayerStats stats = new PlayerStats();
+                stats.username = record.username;
+                stats.difficulty = record.difficulty;
+                return stats;
+            });
+            delta.gamesPlayed++;
+            delta.totalTime += record.timeSpent;
+            if ("WIN".equals(record.result)) {
+                delta.wins++;
+                if (delta.bestWinTime == null || record.timeSpent < delta.bestWinTime) {
+                    delta.bestWinTime = record.timeSpent;
+                }
+            }
+        }
+
+        String sql = """
+            MERGE INTO player_stats s
+            USING (SELECT CAST(? AS VARCHAR2(50)) AS username, CAST(? AS VARCHAR2(10)) AS difficulty,
+                          CAST(? AS NUMBER) AS games_played, CAST(? AS NUMBER) AS wins,
+                          CAST(? AS NUMBER) AS total_time, CAST(? AS NUMBER) AS best_win_time FROM dual) d
+            ON (s.username = d.username AND s.difficulty = d.difficulty)
+            WHEN MATCHED THEN UPDATE SET
+                s.games_played = s.games_played + d.games_played,
+                s.wins = s.wins + d.wins,
+                s.total_time = s.total_time + d.total_time,
+                s.best_win_time = CASE
+                    WHEN d.best_win_time IS NULL THEN s.best_win_time
+                    WHEN s.best_win_time IS NULL OR d.best_win_time < s.best_win_time THEN d.best_win_time
+                    ELSE s.best_win_time END
+            WHEN NOT MATCHED THEN INSERT (username, difficulty, games_played, wins, total_time, best_win_time)
+                VALUES (d.username, d.difficulty, d.games_played, d.wins, d.total_time, d.best_win_time)
+        """;
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (PlayerStats delta : deltas.values()) {
+                pstmt.setString(1, delta.username);
+                pstmt.setString(2, delta.difficulty);
+                pstmt.setInt(3, delta.gamesPlayed);
+                pstmt.setInt(4, delta.wins);
+                pstmt.setLong(5, delta.totalTime);
+                if (delta.bestWinTime == null) {
+                    pstmt.setNull(6, Types.INTEGER);
+                } else {
+                    pstmt.setInt(6, delta.bestWinTime);
+                }
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    @Override
+    public List<PlayerStats> getBestWinTimes() {
+        List<PlayerStats> bestTimes = new ArrayList<>();
+        String sql = "SELECT username, difficulty, best_win_time FROM player_stats WHERE best_win_time IS NOT NULL";
+
+        try (Connection conn = connectionPool.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                PlayerStats entry = new PlayerStats();
+                entry.username = rs.getString("username");
+                entry.difficulty = rs.getString("difficulty");
+                entry.bestWinTime = rs.getInt("best_win_time");
+                bestTimes.add(entry);
+            }
 
         } catch (SQLException e) {
-            System.err.println("Save game result error: " + e.getMessage());
+            System.err.println("Get best win times error: " + e.getMessage());
         }
+
+        return bestTimes;
     }
 
-    public List<GameRecord> getPlayerHistory(String username) {
-        List<GameRecord> history = new ArrayList<>();
-        String sql = "SELECT difficulty, result, time_spent, play_time FROM game_history WHERE username = ? ORDER BY play_time DESC";
+    @Override
+    public List<PlayerStats> getPlayerStats(String username) {
+        List<PlayerStats> stats = new ArrayList<>();
+        String sql = "SELECT difficulty, games_played, wins, total_time, best_win_time FROM player_stats WHERE username = ?";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = connectionPool.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, username);
-            ResultSet rs = pstmt.executeQuery();
-
-            while (rs.next()) {
-                GameRecord record = new GameRecord();
-                record.difficulty = rs.getString("difficulty");
-                record.result = rs.getString("result");
-                record.timeSpent = rs.getInt("time_spent");
-                record.playTime = rs.getTimestamp("play_time").toLocalDateTime()
-                        .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-                history.add(record);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    PlayerStats entry = new PlayerStats();
+                    entry.username = username;
+                    entry.difficulty = rs.getString("difficulty");
+                    entry.gamesPlayed = rs.getInt("games_played");
+                    entry.wins = rs.getInt("wins");
+                    entry.totalTime = rs.getLong("total_time");
+                    int bestWinTime = rs.getInt("best_win_time");
+                    entry.bestWinTime = rs.wasNull() ? null : bestWinTime;
+                    stats.add(entry);
+                }
             }
 
         } catch (SQLException e) {
-            System.err.println("Get player history error: " + e.getMessage());
+            System.err.println("Get player stats error: " + e.getMessage());
         }
 
-        return history;
+        return stats;
     }
 
-    private String hashPassword(String password) {
+    @Override
+    public List<GameRecord> getPlayerHistoryPage(String username, GameRecord after, int pageSize) {
+        List<GameRecord> page = new ArrayList<>(pageSize);
+        String sql = after == null
+                ? "SELECT id, difficulty, result, time_spent, play_time FROM game_history WHERE username = ? " +
+                  "ORDER BY play_time DESC, id DESC FETCH FIRST ? ROWS ONLY"
+                : "SELECT id, difficulty, result, time_spent, play_time FROM game_history WHERE username = ? " +
+                  "AND (play_time < ? OR (play_time = ? AND id < ?)) " +
+                  "ORDER BY play_time DESC, id DESC FETCH FIRST ? ROWS ONLY";
+
+        try (Connection conn = connectionPool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            pstmt.setString(index++, username);
+            if (after != null) {
+                Timestamp afterTime = Timestamp.valueOf(after.playedAt);
+                pstmt.setTimestamp(index++, afterTime);
+                pstmt.setTimestamp(index++, afterTime);
+                pstmt.setLong(index++, after.id);
+            }
+            pstmt.setInt(index, pageSize);
+            pstmt.setFetchSize(pageSize);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    GameRecord record = new GameRecord();
+                    record.id = rs.getLong("id");
+                    record.username = username;
+                    record.difficulty = rs.getString("difficulty");
+                    record.result = rs.getString("result");
+                    record.timeSpent = rs.getInt("time_spent");
+                    record.playedAt = rs.getTimestamp("play_time").toLocalDateTime();
+                    record.playTime = record.playedAt.format(GameRecord.PLAY_TIME_FORMAT);
+                    page.add(record);
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Get player history page error: " + e.getMessage());
+        }
+
+        return page;
+    }
 
-        return Integer.toString(password.hashCode());
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
     }
 
-    private boolean verifyPassword(String password, String hashedPassword) {
-        return hashPassword(password).equals(hashedPassword);
+    @Override
+    public void close() {
+        connectionPool.close();
     }
 }
\ No newline at end of file
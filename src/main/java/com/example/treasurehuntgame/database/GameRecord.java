@@ -1,9 +1,27 @@
-
 package com.example.treasurehuntgame.database;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
 public class GameRecord {
+    public static final DateTimeFormatter PLAY_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public long id;
+    public String username;
     public String difficulty;
     public String result;
     public int timeSpent;
     public String playTime;
-}
\ No newline at end of file
+    public LocalDateTime playedAt;
+
+    public static GameRecord create(String username, String difficulty, String result, int timeSpent) {
+        GameRecord record = new GameRecord();
+        record.username = username;
+        record.difficulty = difficulty;
+        record.result = result;
+        record.timeSpent = timeSpent;
+        record.playedAt = LocalDateTime.now();
+        record.playTime = record.playedAt.format(PLAY_TIME_FORMAT);
+        return record;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.treasurehuntgame.database;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public interface GameRepository extends AutoCloseable {
+    String STORE_PROPERTY = "treasurehunt.store";
+    String DATA_FILE_PROPERTY = "treasurehunt.dataFile";
+
+    void initializeTables();
+
+    boolean registerUser(String username, String password);
+
+    // Verifies against the stored hash and transparently upgrades legacy or under-cost hashes on success
+    default boolean authenticateUser(String username, String password) {
+        PasswordHasher hasher = PasswordHasher.getDefault();
+        try {
+            String storedPassword = getPasswordHash(username);
+            // verify() runs the KDF even for an unknown user (null hash) to keep response times uniform
+            if (!hasher.verify(password, storedPassword)) {
+                return false;
+            }
+            if (hasher.needsRehash(storedPassword) && !updatePasswordHash(username, hasher.hash(password))) {
+                System.err.println("Password hash upgrade failed for " + username);
+            }
+            return true;
+        } catch (IllegalStateException e) {
+            System.err.println("Authentication error: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Stored hash, or null for an unknown user; throws IllegalStateException if the store cannot be read
+    String getPasswordHash(String username);
+
+    boolean updatePasswordHash(String username, String passwordHash);
+
+    default boolean userExists(String username) {
+        return getPasswordHash(username) != null;
+    }
+
+    // Saves the batch atomically. Records for users that do not exist can never be saved, so they are skipped
+    // and logged rather than failing the rest. Returns false only if the store failed, in which case nothing
+    // was saved and the whole batch can be retried.
+    boolean saveGameResults(List<GameRecord> records);
+
+    default void saveGameResult(String username, String difficulty, String result, int timeSpent) {
+        if (!saveGameResults(List.of(GameRecord.create(username, difficulty, result, timeSpent)))) {
+            System.err.println("Save game result error for " + username);
+        }
+    }
+
+    // Keyset pagination: pass the last record of the previous page (or null for the first page)
+    List<GameRecord> getPlayerHistoryPage(String username, GameRecord after, int pageSize);
+
+    List<PlayerStats> getPlayerStats(String username);
+
+    List<PlayerStats> getBestWinTimes();
+
+    @Override
+    void close();
+
+    // The Oracle database is the default; -Dtreasurehunt.store=local opts into the embedded local store.
+    // The two stores do not share data, so switching does not carry accounts or history across.
+    static GameRepository fromSystemProperties() {
+        if (!"local".equalsIgnoreCase(System.getProperty(STORE_PROPERTY, "oracle"))) {
+            return new DatabaseManager();
+        }
+        String dataFile = System.getProperty(DATA_FILE_PROPERTY);
+        Path path = dataFile != null
+                ? Path.of(dataFile)
+                : Path.of(System.getProperty("user.home"), ".treasurehunt", "game-data.log");
+        System.out.println("Using local store " + path);
+        return new LocalGameRepository(path);
+    }
+}
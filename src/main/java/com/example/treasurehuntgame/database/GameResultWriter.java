@@ -0,0 +1,157 @@
+package com.example.treasurehuntgame.database;
+
+import com.example.treasurehuntgame.metrics.GameMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Write-behind queue: game results are accepted immediately and inserted in JDBC batches on a background thread.
+// submit() never blocks or touches the database, since it runs on the FX thread: if the bounded queue is full
+// the record is dropped and counted. Results submitted after close() are dropped and counted too: the
+// repository is closed right after the writer, so there is nothing left to write them to.
+// Every saveGameResults attempt is timed into the db-saveGameResults histogram.
+public class GameResultWriter implements AutoCloseable {
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+    public static final int DEFAULT_BATCH_SIZE = 32;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1_000;
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+    private static final GameRecord SHUTDOWN = new GameRecord();
+
+    private final GameRepository repository;
+    private final Consumer<List<GameRecord>> onWritten;
+    private final GameMetrics metrics;
+    private final BlockingQueue<GameRecord> queue;
+    private final Object stateLock = new Object();
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final Thread worker;
+    private boolean closed = false;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public GameResultWriter(GameRepository repository, Consumer<List<GameRecord>> onWritten, GameMetrics metrics) {
+        this(repository, onWritten, metrics, DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    public GameResultWriter(GameRepository repository, Consumer<List<GameRecord>> onWritten, GameMetrics metrics,
+                            int queueCapacity, int batchSize, long flushIntervalMillis) {
+        this.repository = repository;
+        this.onWritten = onWritten;
+        this.metrics = metrics;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.worker = new Thread(this::run, "game-result-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void submit(GameRecord record) {
+        submitted.increment();
+        String rejected;
+        synchronized (stateLock) {
+            // Checked and enqueued under the lock, so close() cannot slip in between and miss the record
+            if (closed) {
+                rejected = "Game result writer is closed";
+            } else {
+                rejected = queue.offer(record) ? null : "Game result queue is full";
+            }
+        }
+        if (rejected != null) {
+            dropped.increment();
+            metrics.recordDroppedGameResult();
+            System.err.println(rejected + ", dropping result for " + record.username);
+        }
+    }
+
+    private void run() {
+        List<GameRecord> batch = new ArrayList<>(batchSize);
+        long deadline = 0;
+        boolean stopping = false;
+
+        while (!stopping) {
+            try {
+                long wait = batch.isEmpty() ? flushIntervalMillis : Math.max(0, deadline - System.currentTimeMillis());
+                GameRecord record = queue.poll(wait, TimeUnit.MILLISECONDS);
+                if (record != null) {
+                    if (batch.isEmpty()) {
+                        deadline = System.currentTimeMillis() + flushIntervalMillis;
+                    }
+                    batch.add(record);
+                    queue.drainTo(batch, batchSize - batch.size());
+                    stopping = batch.remove(SHUTDOWN);
+                }
+            } catch (InterruptedException e) {
+                stopping = true;
+            }
+
+            if (!batch.isEmpty() && (stopping || batch.size() >= batchSize || System.currentTimeMillis() >= deadline)) {
+                flush(batch);
+            }
+        }
+
+        List<GameRecord> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.remove(SHUTDOWN);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    private void flush(List<GameRecord> batch) {
+        for (int attempt = 1; attempt <= MAX_FLUSH_ATTEMPTS; attempt++) {
+            long start = System.nanoTime();
+            boolean saved = repository.saveGameResults(batch);
+            metrics.recordDatabaseCall("saveGameResults", System.nanoTime() - start);
+            if (saved) {
+                onWritten.accept(batch);
+                written.add(batch.size());
+                batches.increment();
+                batch.clear();
+                return;
+            }
+            try {
+                Thread.sleep(200L * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        System.err.println("Dropping " + batch.size() + " game results after " + MAX_FLUSH_ATTEMPTS + " failed attempts");
+        failed.add(batch.size());
+        batch.clear();
+    }
+
+    // Waits until every accepted result has been written (or dropped after failed retries)
+    @Override
+    public void close() {
+        synchronized (stateLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        try {
+            queue.put(SHUTDOWN);
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPendingCount() { return queue.size(); }
+    public long getSubmittedCount() { return submitted.sum(); }
+    public long getWrittenCount() { return written.sum(); }
+    public long getBatchCount() { return batches.sum(); }
+    public long getFailedCount() { return failed.sum(); }
+    public long getDroppedCount() { return dropped.sum(); }
+}
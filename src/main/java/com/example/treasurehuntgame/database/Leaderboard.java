@@ -0,0 +1,241 @@
+package com.example.treasurehuntgame.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Fastest win per player for each difficulty. Each board keeps every player's best time in an
+// order-statistic tree, so a win, a rank and a neighbourhood cost O(log N) under the board's lock.
+// The first TOP_SIZE entries are also published as an immutable array through a volatile field,
+// which getTop() reads without locking; it is rebuilt only when a win lands in or leaves the top.
+public class Leaderboard {
+    static final int TOP_SIZE = 100;
+
+    private final Map<String, Board> boards = new ConcurrentHashMap<>();
+
+    public void load(List<PlayerStats> bestTimes) {
+        for (PlayerStats stats : bestTimes) {
+            if (stats.bestWinTime != null) {
+                recordWin(stats.username, stats.difficulty, stats.bestWinTime);
+            }
+        }
+    }
+
+    public void recordWin(String username, String difficulty, int timeSpent) {
+        boards.computeIfAbsent(difficulty, d -> new Board()).recordWin(username, timeSpent);
+    }
+
+    public List<LeaderboardEntry> getTop(String difficulty, int count) {
+        Board board = boards.get(difficulty);
+        if (board == null || count <= 0) {
+            return Collections.emptyList();
+        }
+        LeaderboardEntry[] top = board.top;
+        if (count <= TOP_SIZE || top.length < TOP_SIZE) {
+            List<LeaderboardEntry> entries = new ArrayList<>(Math.min(count, top.length));
+            for (int i = 0; i < Math.min(count, top.length); i++) {
+                entries.add(top[i]);
+            }
+            return entries;
+        }
+        return board.entries(0, count);
+    }
+
+    // 1-based rank of the player's best win, or 0 if the player has no win at this difficulty
+    public int getRank(String difficulty, String username) {
+        Board board = boards.get(difficulty);
+        return board == null ? 0 : board.rank(username) + 1;
+    }
+
+    public List<LeaderboardEntry> getNeighbours(String difficulty, String username, int radius) {
+        Board board = boards.get(difficulty);
+        return board == null ? Collections.emptyList() : board.neighbours(username, radius);
+    }
+
+    public int getPlayerCount(String difficulty) {
+        Board board = boards.get(difficulty);
+        return board == null ? 0 : board.size();
+    }
+
+    private static final class Board {
+        private static final LeaderboardEntry[] NO_ENTRIES = new LeaderboardEntry[0];
+
+        private final Map<String, Integer> bestTimes = new HashMap<>();
+        private final SplittableRandom priorities = new SplittableRandom(0x5EED);
+        private Node root;
+        private volatile LeaderboardEntry[] top = NO_ENTRIES;
+
+        synchronized void recordWin(String username, int timeSpent) {
+            Integer existing = bestTimes.get(username);
+            if (existing != null && existing <= timeSpent) {
+                return;
+            }
+
+            boolean topChanged = false;
+            if (existing != null) {
+                topChanged = rank(root, existing, username) < TOP_SIZE;
+                root = remove(root, existing, username);
+            }
+            bestTimes.put(username, timeSpent);
+            root = insert(root, new Node(username, timeSpent, priorities.nextInt()));
+            if (topChanged || rank(root, timeSpent, username) < TOP_SIZE) {
+                top = entries(0, TOP_SIZE).toArray(NO_ENTRIES);
+            }
+        }
+
+        // 0-based position of the player's best win, or -1 if the player has none
+        synchronized int rank(String username) {
+            Integer time = bestTimes.get(username);
+            return time == null ? -1 : rank(root, time, username);
+        }
+
+        synchronized List<LeaderboardEntry> neighbours(String username, int radius) {
+            int position = rank(username);
+            if (position < 0) {
+                return Collections.emptyList();
+            }
+            return entries(Math.max(0, position - radius), position + radius + 1);
+        }
+
+        synchronized int size() {
+            return size(root);
+        }
+
+        // Entries at positions from (inclusive) to (exclusive), clamped to the board
+        synchronized List<LeaderboardEntry> entries(int from, int to) {
+            List<LeaderboardEntry> entries = new ArrayList<>(Math.max(0, Math.min(to, size(root)) - from));
+            collect(root, 0, from, to, entries);
+            return entries;
+        }
+
+        // In-order walk that skips subtrees entirely outside [from, to), so it costs O(log N + to - from)
+        private static void collect(Node node, int offset, int from, int to, List<LeaderboardEntry> entries) {
+            if (node == null || offset >= to || offset + node.size <= from) {
+                return;
+            }
+            collect(node.left, offset, from, to, entries);
+            int position = offset + size(node.left);
+            if (position >= from && position < to) {
+                entries.add(new LeaderboardEntry(position + 1, node.username, node.time));
+            }
+            collect(node.right, position + 1, from, to, entries);
+        }
+
+        private static int rank(Node node, int time, String username) {
+            int rank = 0;
+            while (node != null) {
+                int order = compare(time, username, node.time, node.username);
+                if (order == 0) {
+                    return rank + size(node.left);
+                }
+                if (order < 0) {
+                    node = node.left;
+                } else {
+                    rank += size(node.left) + 1;
+                    node = node.right;
+                }
+            }
+            return rank;
+        }
+
+        private static Node insert(Node node, Node added) {
+            if (node == null) {
+                return added;
+            }
+            if (added.priority > node.priority) {
+                Node[] parts = split(node, added.time, added.username);
+                added.left = parts[0];
+                added.right = parts[1];
+                return added.update();
+            }
+            if (compare(added.time, added.username, node.time, node.username) < 0) {
+                node.left = insert(node.left, added);
+            } else {
+                node.right = insert(node.right, added);
+            }
+            return node.update();
+        }
+
+        private static Node remove(Node node, int time, String username) {
+            if (node == null) {
+                return null;
+            }
+            int order = compare(time, username, node.time, node.username);
+            if (order == 0) {
+                return merge(node.left, node.right);
+            }
+            if (order < 0) {
+                node.left = remove(node.left, time, username);
+            } else {
+                node.right = remove(node.right, time, username);
+            }
+            return node.update();
+        }
+
+        // Splits into the keys ordered before (time, username) and the rest
+        private static Node[] split(Node node, int time, String username) {
+            if (node == null) {
+                return new Node[2];
+            }
+            if (compare(node.time, node.username, time, username) < 0) {
+                Node[] parts = split(node.right, time, username);
+                node.right = parts[0];
+                parts[0] = node.update();
+                return parts;
+            }
+            Node[] parts = split(node.left, time, username);
+            node.left = parts[1];
+            parts[1] = node.update();
+            return parts;
+        }
+
+        private static Node merge(Node left, Node right) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            if (left.priority > right.priority) {
+                left.right = merge(left.right, right);
+                return left.update();
+            }
+            right.left = merge(left, right.left);
+            return right.update();
+        }
+
+        private static int size(Node node) {
+            return node == null ? 0 : node.size;
+        }
+
+        private static int compare(int time, String username, int otherTime, String otherUsername) {
+            int byTime = Integer.compare(time, otherTime);
+            return byTime != 0 ? byTime : username.compareTo(otherUsername);
+        }
+    }
+
+    // Treap node ordered by (time, username), heap-ordered by a random priority to stay balanced
+    private static final class Node {
+        final String username;
+        final int time;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(String username, int time, int priority) {
+            this.username = username;
+            this.time = time;
+            this.priority = priority;
+        }
+
+        Node update() {
+            size = 1 + Board.size(left) + Board.size(right);
+            return this;
+        }
+    }
+}
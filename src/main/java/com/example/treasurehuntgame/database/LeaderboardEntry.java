@@ -0,0 +1,13 @@
+package com.example.treasurehuntgame.database;
+
+public class LeaderboardEntry {
+    public final int rank;
+    public final String username;
+    public final int bestTime;
+
+    public LeaderboardEntry(int rank, String username, int bestTime) {
+        this.rank = rank;
+        this.username = username;
+        this.bestTime = bestTime;
+    }
+}
@@ -0,0 +1,379 @@
+package com.example.treasurehuntgame.database;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Embedded store: an append-only log file replayed into in-memory indexes on startup.
+// Each entry is [type:byte][length:int][payload]; a torn or unreadable tail is truncated on load.
+public class LocalGameRepository implements GameRepository {
+    private static final int MAGIC = 0x5448474C; // "THGL"
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte ENTRY_USER = 1;
+    private static final byte ENTRY_GAME = 2;
+    private static final Comparator<GameRecord> HISTORY_ORDER =
+            Comparator.comparing((GameRecord record) -> record.playedAt).thenComparingLong(record -> record.id);
+
+    private final Path file;
+    private FileChannel channel;
+    private long nextGameId = 1;
+    private final Map<String, String> passwords = new HashMap<>();
+    private final Map<String, List<GameRecord>> histories = new HashMap<>();
+    private final Map<String, Map<String, PlayerStats>> stats = new HashMap<>();
+
+    public LocalGameRepository(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void initializeTables() {
+        ensureOpen();
+    }
+
+    @Override
+    public boolean registerUser(String username, String password) {
+        // Hash outside the lock; the KDF is deliberately slow
+        String hash = PasswordHasher.getDefault().hash(password);
+        synchronized (this) {
+            ensureOpen();
+            if (passwords.containsKey(username)) {
+                return false;
+            }
+            return writeUser(username, hash);
+        }
+    }
+
+    @Override
+    public synchronized boolean updatePasswordHash(String username, String passwordHash) {
+        ensureOpen();
+        return passwords.containsKey(username) && writeUser(username, passwordHash);
+    }
+
+    private boolean writeUser(String username, String hash) {
+        try {
+            append(encodeUser(username, hash));
+        } catch (IOException e) {
+            System.err.println("Save user error: " + e.getMessage());
+            return false;
+        }
+        passwords.put(username, hash);
+        return true;
+    }
+
+    @Override
+    public synchronized String getPasswordHash(String username) {
+        ensureOpen();
+        return passwords.get(username);
+    }
+
+    @Override
+    public synchronized boolean saveGameResults(List<GameRecord> records) {
+        ensureOpen();
+        // Records for unknown users are skipped, as the GameRepository contract requires
+        List<GameRecord> valid = new ArrayList<>(records.size());
+        for (GameRecord record : records) {
+            if (passwords.containsKey(record.username)) {
+                valid.add(record);
+            } else {
+                System.err.println("Save game result skipped: unknown user " + record.username);
+            }
+        }
+
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        long id = nextGameId;
+        try {
+            for (GameRecord record : valid) {
+                batch.write(encodeGame(id++, record));
+            }
+            append(batch.toByteArray());
+        } catch (IOException e) {
+            System.err.println("Save game results batch error: " + e.getMessage());
+            return false;
+        }
+
+        for (GameRecord record : valid) {
+            GameRecord stored = copy(record);
+            stored.id = nextGameId++;
+            index(stored);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized List<GameRecord> getPlayerHistoryPage(String username, GameRecord after, int pageSize) {
+        ensureOpen();
+        List<GameRecord> history = histories.getOrDefault(username, List.of());
+        int start = after == null ? history.size() - 1 : lowerBound(history, after) - 1;
+
+        List<GameRecord> page = new ArrayList<>(pageSize);
+        for (int i = start; i >= 0 && page.size() < pageSize; i--) {
+            page.add(copy(history.get(i)));
+        }
+        return page;
+    }
+
+    @Override
+    public synchronized List<PlayerStats> getPlayerStats(String username) {
+        ensureOpen();
+        List<PlayerStats> result = new ArrayList<>();
+        for (PlayerStats entry : stats.getOrDefault(username, Map.of()).values()) {
+            result.add(copy(entry));
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized List<PlayerStats> getBestWinTimes() {
+        ensureOpen();
+        List<PlayerStats> result = new ArrayList<>();
+        for (Map<String, PlayerStats> byDifficulty : stats.values()) {
+            for (PlayerStats entry : byDifficulty.values()) {
+                if (entry.bestWinTime != null) {
+                    result.add(copy(entry));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void close() {
+        closeChannel();
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Error closing local store: " + e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    private void ensureOpen() {
+        if (channel != null) {
+            return;
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            long validLength = Files.exists(file) ? load() : 0;
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            if (validLength == 0) {
+                channel.truncate(0);
+                ByteBuffer header = ByteBuffer.allocate(5).putInt(MAGIC).put(FORMAT_VERSION).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                validLength = 5;
+            } else if (channel.size() > validLength) {
+                System.err.println("Local store: discarding " + (channel.size() - validLength) + " bytes of incomplete data");
+                channel.truncate(validLength);
+            }
+            channel.position(validLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open local store " + file, e);
+        }
+    }
+
+    // Returns the length of the valid prefix of the log, or 0 if the file has no valid header.
+    // Rebuilds the indexes from scratch, since a store whose append could not be rolled back is reopened here.
+    private long load() throws IOException {
+        passwords.clear();
+        histories.clear();
+        stats.clear();
+        nextGameId = 1;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+                throw new IOException("Not a Treasure Hunt data file: " + file);
+            }
+            long size = Files.size(file);
+            long validLength = 5;
+            while (true) {
+                byte type;
+                try {
+                    type = in.readByte();
+                } catch (EOFException e) {
+                    return validLength;
+                }
+                // An unknown type or impossible length means the rest is garbage (e.g. a zero-filled tail)
+                if (type != ENTRY_USER && type != ENTRY_GAME) {
+                    return validLength;
+                }
+                try {
+                    int length = in.readInt();
+                    if (length < 0 || length > size - validLength - 5) {
+                        return validLength;
+                    }
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    if (!apply(type, new DataInputStream(new ByteArrayInputStream(payload)))) {
+                        return validLength;
+                    }
+                    validLength += 1 + 4 + length;
+                } catch (EOFException e) {
+                    return validLength;
+                }
+            }
+        } catch (EOFException e) {
+            return 0;
+        }
+    }
+
+    // Returns false if the payload cannot be decoded; nothing is applied in that case
+    private boolean apply(byte type, DataInputStream in) {
+        try {
+            switch (type) {
+                case ENTRY_USER:
+                    String username = in.readUTF();
+                    passwords.put(username, in.readUTF());
+                    return true;
+                case ENTRY_GAME:
+                    GameRecord record = new GameRecord();
+                    record.id = in.readLong();
+                    record.username = in.readUTF();
+                    record.difficulty = in.readUTF();
+                    record.result = in.readUTF();
+                    record.timeSpent = in.readInt();
+                    record.playedAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+                    record.playTime = record.playedAt.format(GameRecord.PLAY_TIME_FORMAT);
+                    nextGameId = Math.max(nextGameId, record.id + 1);
+                    index(record);
+                    return true;
+                default:
+                    return false;
+            }
+        } catch (IOException | DateTimeException e) {
+            return false;
+        }
+    }
+
+    private void index(GameRecord record) {
+        List<GameRecord> history = histories.computeIfAbsent(record.username, u -> new ArrayList<>());
+        history.add(lowerBound(history, record), record);
+
+        PlayerStats entry = stats.computeIfAbsent(record.username, u -> new LinkedHashMap<>())
+                .computeIfAbsent(record.difficulty, d -> {
+                    PlayerStats created = new PlayerStats();
+                    created.username = record.username;
+                    created.difficulty = record.difficulty;
+                    return created;
+                });
+        entry.gamesPlayed++;
+        entry.totalTime += record.timeSpent;
+        if ("WIN".equals(record.result)) {
+            entry.wins++;
+            if (entry.bestWinTime == null || record.timeSpent < entry.bestWinTime) {
+                entry.bestWinTime = record.timeSpent;
+            }
+        }
+    }
+
+    // Index of the first record ordered at or after the given one
+    private static int lowerBound(List<GameRecord> history, GameRecord key) {
+        int low = 0;
+        int high = history.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (HISTORY_ORDER.compare(history.get(mid), key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Writes whole frames and forces them to disk before the caller reports success. A write that fails
+    // partway is cut back off, so later appends do not land behind a torn frame that load() would stop at.
+    private void append(byte[] entries) throws IOException {
+        long start = channel.position();
+        ByteBuffer buffer = ByteBuffer.wrap(entries);
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            try {
+                channel.truncate(start);
+                channel.position(start);
+            } catch (IOException truncateError) {
+                e.addSuppressed(truncateError);
+                // The log can no longer be trusted to end on a frame boundary; reopen it through load()
+                closeChannel();
+            }
+            throw e;
+        }
+    }
+
+    private static byte[] encodeUser(String username, String passwordHash) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(payload);
+        out.writeUTF(username);
+        out.writeUTF(passwordHash);
+        return frame(ENTRY_USER, payload.toByteArray());
+    }
+
+    private static byte[] encodeGame(long id, GameRecord record) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(payload);
+        out.writeLong(id);
+        out.writeUTF(record.username);
+        out.writeUTF(record.difficulty);
+        out.writeUTF(record.result);
+        out.writeInt(record.timeSpent);
+        out.writeLong(record.playedAt.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(record.playedAt.getNano());
+        return frame(ENTRY_GAME, payload.toByteArray());
+    }
+
+    private static byte[] frame(byte type, byte[] payload) {
+        return ByteBuffer.allocate(1 + 4 + payload.length).put(type).putInt(payload.length).put(payload).array();
+    }
+
+    private static GameRecord copy(GameRecord record) {
+        GameRecord copy = new GameRecord();
+        copy.id = record.id;
+        copy.username = record.username;
+        copy.difficulty = record.difficulty;
+        copy.result = record.result;
+        copy.timeSpent = record.timeSpent;
+        copy.playedAt = record.playedAt;
+        copy.playTime = record.playedAt.format(GameRecord.PLAY_TIME_FORMAT);
+        return copy;
+    }
+
+    private static PlayerStats copy(PlayerStats entry) {
+        PlayerStats copy = new PlayerStats();
+        copy.username = entry.username;
+        copy.difficulty = entry.difficulty;
+        copy.gamesPlayed = entry.gamesPlayed;
+        copy.wins = entry.wins;
+        copy.totalTime = entry.totalTime;
+        copy.bestWinTime = entry.bestWinTime;
+        return copy;
+    }
+}
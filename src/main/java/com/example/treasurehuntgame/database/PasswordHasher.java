@@ -0,0 +1,145 @@
+package com.example.treasurehuntgame.database;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// PBKDF2-HMAC-SHA256 with a per-user salt. Stored as "pbkdf2-sha256$<iterations>$<salt>$<hash>",
+// so the cost can be raised later and old hashes upgraded on the next login.
+// The KDF runs on a small dedicated pool so a burst of logins cannot occupy every core.
+public class PasswordHasher {
+    public static final String ITERATIONS_PROPERTY = "treasurehunt.pbkdf2.iterations";
+    public static final int DEFAULT_ITERATIONS = 310_000;
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final int MAX_QUEUED_TASKS = 128;
+
+    private static volatile PasswordHasher defaultHasher;
+
+    private final int iterations;
+    private final ThreadPoolExecutor executor;
+    private final SecureRandom random = new SecureRandom();
+    private volatile String dummyHash;
+
+    public PasswordHasher(int iterations, int maxConcurrency) {
+        this.iterations = iterations;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_TASKS), r -> {
+                    Thread thread = new Thread(r, "password-hasher-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static PasswordHasher getDefault() {
+        PasswordHasher hasher = defaultHasher;
+        if (hasher == null) {
+            synchronized (PasswordHasher.class) {
+                hasher = defaultHasher;
+                if (hasher == null) {
+                    int iterations = Integer.getInteger(ITERATIONS_PROPERTY, DEFAULT_ITERATIONS);
+                    int maxConcurrency = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+                    hasher = new PasswordHasher(iterations, maxConcurrency);
+                    defaultHasher = hasher;
+                }
+            }
+        }
+        return hasher;
+    }
+
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = run(() -> pbkdf2(password, salt, iterations));
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    // A null stored hash (unknown user) still costs one KDF run, so timing does not reveal which names exist
+    public boolean verify(String password, String storedHash) {
+        if (storedHash == null) {
+            verify(password, getDummyHash());
+            return false;
+        }
+        String[] parts = storedHash.split("\\$");
+        if (parts.length != 4 || !parts[0].equals(PREFIX)) {
+            // Hashes written before PBKDF2 was introduced
+            return Integer.toString(password.hashCode()).equals(storedHash);
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            byte[] actual = run(() -> pbkdf2(password, salt, storedIterations));
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Malformed password hash: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private String getDummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = hash("");
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    public boolean needsRehash(String storedHash) {
+        String[] parts = storedHash.split("\\$");
+        if (parts.length != 4 || !parts[0].equals(PREFIX)) {
+            return true;
+        }
+        try {
+            return Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public int getMaxConcurrency() {
+        return executor.getMaximumPoolSize();
+    }
+
+    private byte[] run(Callable<byte[]> task) {
+        try {
+            return executor.submit(task).get();
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Too many password operations in progress", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) throws GeneralSecurityException {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
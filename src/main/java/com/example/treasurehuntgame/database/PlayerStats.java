@@ -0,0 +1,14 @@
+package com.example.treasurehuntgame.database;
+
+public class PlayerStats {
+    public String username;
+    public String difficulty;
+    public int gamesPlayed;
+    public int wins;
+    public long totalTime;
+    public Integer bestWinTime;
+
+    public double getWinRate() {
+        return gamesPlayed == 0 ? 0 : (double) wins / gamesPlayed;
+    }
+}
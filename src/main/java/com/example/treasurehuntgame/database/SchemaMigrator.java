@@ -0,0 +1,156 @@
+package com.example.treasurehuntgame.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Versioned schema bootstrap. A warm start costs one query against the single-row schema_version table;
+// only migrations newer than the stored version are applied. Oracle commits DDL implicitly, so a migration
+// is not atomic: only its data changes share a transaction with the version bump. A migration that fails
+// halfway is re-run from the start on the next launch, so every step must tolerate objects left behind by
+// an earlier attempt; create() does that for CREATE statements.
+public class SchemaMigrator {
+    private static final int NO_TABLE = -1;
+    private static final int NO_ROW = -2;
+
+    private final ConnectionPool connectionPool;
+    private final List<Migration> migrations = new ArrayList<>();
+    private BaselineDetector baselineDetector = conn -> 0;
+
+    public interface Step {
+        void apply(Statement stmt) throws SQLException;
+    }
+
+    // Works out the version of a database created before schema_version existed
+    public interface BaselineDetector {
+        int detect(Connection conn) throws SQLException;
+    }
+
+    public SchemaMigrator(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    public SchemaMigrator add(int version, String description, Step step) {
+        migrations.add(new Migration(version, description, step));
+        migrations.sort(Comparator.comparingInt(migration -> migration.version));
+        return this;
+    }
+
+    public SchemaMigrator baseline(BaselineDetector baselineDetector) {
+        this.baselineDetector = baselineDetector;
+        return this;
+    }
+
+    public int migrate() throws SQLException {
+        try (Connection conn = connectionPool.getConnection()) {
+            int current = readVersion(conn);
+            if (current == NO_TABLE) {
+                current = createVersionTable(conn);
+            } else if (current == NO_ROW) {
+                // The table exists without its row: an earlier start stopped between creating and filling it
+                current = insertVersion(conn);
+            }
+
+            for (Migration migration : migrations) {
+                if (migration.version <= current) {
+                    continue;
+                }
+                apply(conn, migration);
+                current = migration.version;
+            }
+            System.out.println("Database schema is at version " + current);
+            return current;
+        }
+    }
+
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement();
+             PreparedStatement update = conn.prepareStatement("UPDATE schema_version SET version = ?")) {
+            migration.step.apply(stmt);
+            update.setInt(1, migration.version);
+            if (update.executeUpdate() != 1) {
+                throw new SQLException("schema_version must contain exactly one row");
+            }
+            conn.commit();
+            System.out.println("Applied schema migration " + migration.version + ": " + migration.description);
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Schema migration " + migration.version + " failed: " + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    // Returns the stored version, NO_TABLE if the version table does not exist yet, or NO_ROW if it is empty
+    private int readVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : NO_ROW;
+        } catch (SQLException e) {
+            if (isMissingTable(e)) {
+                return NO_TABLE;
+            }
+            throw e;
+        }
+    }
+
+    private int createVersionTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE schema_version (version NUMBER NOT NULL)");
+        }
+        return insertVersion(conn);
+    }
+
+    private int insertVersion(Connection conn) throws SQLException {
+        int baseline = baselineDetector.detect(conn);
+        try (PreparedStatement insert = conn.prepareStatement("INSERT INTO schema_version (version) VALUES (?)")) {
+            insert.setInt(1, baseline);
+            insert.executeUpdate();
+        }
+        if (baseline > 0) {
+            System.out.println("Existing schema detected at version " + baseline);
+        }
+        return baseline;
+    }
+
+    // Runs a CREATE statement, treating an object of the same name that already exists as success
+    public static void create(Statement stmt, String ddl) throws SQLException {
+        try {
+            stmt.execute(ddl);
+        } catch (SQLException e) {
+            if (!isAlreadyExisting(e)) {
+                throw e;
+            }
+        }
+    }
+
+    private static boolean isAlreadyExisting(SQLException e) {
+        // ORA-00955: name is already used by an existing object
+        String message = String.valueOf(e.getMessage());
+        return e.getErrorCode() == 955 || message.contains("already used") || message.contains("already exists");
+    }
+
+    private static boolean isMissingTable(SQLException e) {
+        // ORA-00942: table or view does not exist
+        String message = String.valueOf(e.getMessage());
+        return e.getErrorCode() == 942 || message.contains("does not exist") || message.contains("not found");
+    }
+
+    private static final class Migration {
+        final int version;
+        final String description;
+        final Step step;
+
+        Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.treasurehuntgame.game.ai;
+
+import com.example.treasurehuntgame.game.sim.GameBoard;
+
+import java.util.Arrays;
+
+// A* over the 4-connected grid with a Manhattan heuristic, for a single chaser where a full
+// distance field would be wasted work. Search state is stamped per call rather than cleared.
+public class AStarPathfinder {
+    private int width;
+    private int[] gScores = new int[0];
+    private int[] parents = new int[0];
+    private int[] seen = new int[0];
+    private int[] closed = new int[0];
+    private int generation;
+
+    private int[] heapCells = new int[64];
+    private int[] heapScores = new int[64];
+    private int heapSize;
+
+    // Returns the first cell (y * width + x) on a shortest path, or -1 if the target is unreachable or already reached
+    public int nextStep(GameBoard board, int fromX, int fromY, int toX, int toY) {
+        prepare(board);
+        if (!board.isWalkable(toX, toY) || (fromX == toX && fromY == toY)) {
+            return -1;
+        }
+
+        int start = fromY * width + fromX;
+        int goal = toY * width + toX;
+        seen[start] = generation;
+        gScores[start] = 0;
+        parents[start] = -1;
+        heapSize = 0;
+        push(start, heuristic(fromX, fromY, toX, toY));
+
+        while (heapSize > 0) {
+            int cell = pop();
+            if (closed[cell] == generation) {
+                continue;
+            }
+            if (cell == goal) {
+                return firstStep(start, goal);
+            }
+            closed[cell] = generation;
+
+            int x = cell % width;
+            int y = cell / width;
+            int g = gScores[cell] + 1;
+            relax(board, cell, x - 1, y, g, toX, toY);
+            relax(board, cell, x + 1, y, g, toX, toY);
+            relax(board, cell, x, y - 1, g, toX, toY);
+            relax(board, cell, x, y + 1, g, toX, toY);
+        }
+        return -1;
+    }
+
+    private void prepare(GameBoard board) {
+        width = board.getGridWidth();
+        int cells = width * board.getGridHeight();
+        if (gScores.length != cells) {
+            gScores = new int[cells];
+            parents = new int[cells];
+            seen = new int[cells];
+            closed = new int[cells];
+            generation = 0;
+        }
+        generation++;
+    }
+
+    private void relax(GameBoard board, int from, int x, int y, int g, int toX, int toY) {
+        if (!board.isWalkable(x, y)) {
+            return;
+        }
+        int cell = y * width + x;
+        if (closed[cell] == generation || (seen[cell] == generation && gScores[cell] <= g)) {
+            return;
+        }
+        seen[cell] = generation;
+        gScores[cell] = g;
+        parents[cell] = from;
+        push(cell, g + heuristic(x, y, toX, toY));
+    }
+
+    private int firstStep(int start, int goal) {
+        int cell = goal;
+        while (parents[cell] != start) {
+            cell = parents[cell];
+        }
+        return cell;
+    }
+
+    private static int heuristic(int x, int y, int toX, int toY) {
+        return Math.abs(x - toX) + Math.abs(y - toY);
+    }
+
+    private void push(int cell, int score) {
+        if (heapSize == heapCells.length) {
+            heapCells = Arrays.copyOf(heapCells, heapSize * 2);
+            heapScores = Arrays.copyOf(heapScores, heapSize * 2);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapScores[parent] <= score) {
+                break;
+            }
+            heapCells[i] = heapCells[parent];
+            heapScores[i] = heapScores[parent];
+            i = parent;
+        }
+        heapCells[i] = cell;
+        heapScores[i] = score;
+    }
+
+    private int pop() {
+        int top = heapCells[0];
+        int cell = heapCells[--heapSize];
+        int score = heapScores[heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heapScores[child + 1] < heapScores[child]) {
+                child++;
+            }
+            if (heapScores[child] >= score) {
+                break;
+            }
+            heapCells[i] = heapCells[child];
+            heapScores[i] = heapScores[child];
+            i = child;
+        }
+        heapCells[i] = cell;
+        heapScores[i] = score;
+        return top;
+    }
+}
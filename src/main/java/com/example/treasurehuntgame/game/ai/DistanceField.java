@@ -0,0 +1,83 @@
+package com.example.treasurehuntgame.game.ai;
+
+import com.example.treasurehuntgame.game.sim.GameBoard;
+
+import java.util.Arrays;
+
+// Breadth-first step counts from one target cell to every reachable cell of the board.
+// Built once per target move and shared by every chaser, which then only compares neighbouring values.
+public class DistanceField {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private int width;
+    private int height;
+    private int[] distances = new int[0];
+    private int[] queue = new int[0];
+    private int targetX = -1;
+    private int targetY = -1;
+    private int layoutVersion = -1;
+    private long computeCount;
+
+    // Recomputes only if the target moved or the walls changed since the last call
+    public boolean update(GameBoard board, int x, int y) {
+        if (x == targetX && y == targetY && board.getLayoutVersion() == layoutVersion
+                && board.getGridWidth() == width && board.getGridHeight() == height) {
+            return false;
+        }
+        compute(board, x, y);
+        return true;
+    }
+
+    public void compute(GameBoard board, int x, int y) {
+        width = board.getGridWidth();
+        height = board.getGridHeight();
+        int cells = width * height;
+        if (distances.length != cells) {
+            distances = new int[cells];
+            queue = new int[cells];
+        }
+        Arrays.fill(distances, UNREACHABLE);
+        targetX = x;
+        targetY = y;
+        layoutVersion = board.getLayoutVersion();
+        computeCount++;
+        if (!board.isWalkable(x, y)) {
+            return;
+        }
+
+        int head = 0;
+        int tail = 0;
+        int start = y * width + x;
+        distances[start] = 0;
+        queue[tail++] = start;
+        while (head < tail) {
+            int cell = queue[head++];
+            int cx = cell % width;
+            int cy = cell / width;
+            int next = distances[cell] + 1;
+            if (cx > 0) tail = visit(board, cell - 1, cx - 1, cy, next, tail);
+            if (cx < width - 1) tail = visit(board, cell + 1, cx + 1, cy, next, tail);
+            if (cy > 0) tail = visit(board, cell - width, cx, cy - 1, next, tail);
+            if (cy < height - 1) tail = visit(board, cell + width, cx, cy + 1, next, tail);
+        }
+    }
+
+    private int visit(GameBoard board, int cell, int x, int y, int distance, int tail) {
+        if (distances[cell] == UNREACHABLE && !board.isWall(x, y)) {
+            distances[cell] = distance;
+            queue[tail++] = cell;
+        }
+        return tail;
+    }
+
+    public int get(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return UNREACHABLE;
+        }
+        return distances[y * width + x];
+    }
+
+    public long getComputeCount() {
+        return computeCount;
+    }
+}
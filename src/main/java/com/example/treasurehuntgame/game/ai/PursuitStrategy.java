@@ -0,0 +1,4 @@
+package com.example.treasurehuntgame.game.ai;
+
+// DISTANCE_FIELD shares one BFS from the player across all enemies; A_STAR searches per enemy and suits a lone chaser
+public enum PursuitStrategy { DISTANCE_FIELD, A_STAR }
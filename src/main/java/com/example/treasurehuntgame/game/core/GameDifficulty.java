@@ -1,3 +1,30 @@
 package com.example.treasurehuntgame.game.core;
 
-public enum GameDifficulty { EASY, MEDIUM, HARD }
\ No newline at end of file
+// Per-difficulty rules: starting lives, time limit (0 = none), simulation rate and how many ticks pass between
+// enemy steps, plus the default board size and the wall, enemy and trap densities used for generated levels
+public enum GameDifficulty {
+    EASY(5, 0, 20, 10, 10, 0.12, 0.010, 0.010),
+    MEDIUM(3, 0, 20, 10, 15, 0.16, 0.009, 0.009),
+    HARD(2, 120_000, 30, 15, 20, 0.20, 0.008, 0.008);
+
+    public final int lives;
+    public final long timeLimitMillis;
+    public final int ticksPerSecond;
+    public final int enemyMoveTicks;
+    public final int gridSize;
+    public final double wallDensity;
+    public final double enemyDensity;
+    public final double trapDensity;
+
+    GameDifficulty(int lives, long timeLimitMillis, int ticksPerSecond, int enemyMoveTicks,
+                   int gridSize, double wallDensity, double enemyDensity, double trapDensity) {
+        this.lives = lives;
+        this.timeLimitMillis = timeLimitMillis;
+        this.ticksPerSecond = ticksPerSecond;
+        this.enemyMoveTicks = enemyMoveTicks;
+        this.gridSize = gridSize;
+        this.wallDensity = wallDensity;
+        this.enemyDensity = enemyDensity;
+        this.trapDensity = trapDensity;
+    }
+}
@@ -2,49 +2,76 @@
 package com.example.treasurehuntgame.game.core;
 
 import com.example.treasurehuntgame.TreasureHuntGame;
-import com.example.treasurehuntgame.database.DatabaseManager;
-import com.example.treasurehuntgame.game.ui.GameBoard;
+import com.example.treasurehuntgame.database.AsyncDatabase;
+import com.example.treasurehuntgame.game.sim.GameBoard;
+import com.example.treasurehuntgame.game.sim.GameSimulation;
+import com.example.treasurehuntgame.game.sim.Level;
+import com.example.treasurehuntgame.game.sim.ReplayRecorder;
+import com.example.treasurehuntgame.game.ui.Camera;
 import com.example.treasurehuntgame.game.ui.GameRenderer;
 import com.example.treasurehuntgame.game.ui.GameUI;
 import javafx.scene.control.Alert;
 
 public class GameEngine {
     private final GameDifficulty difficulty;
+    private final long levelSeed;
     private final String playerName;
     private final TreasureHuntGame mainApp;
-    private final DatabaseManager dbManager;
+    private final AsyncDatabase database;
     private GameBoard gameBoard;
     private GameRenderer gameRenderer;
     private GameUI gameUI;
     private GameStateManager gameStateManager;
 
-    public GameEngine(GameDifficulty difficulty, String playerName, TreasureHuntGame mainApp) {
+    public GameEngine(GameDifficulty difficulty, long levelSeed, String playerName, TreasureHuntGame mainApp) {
         this.difficulty = difficulty;
+        this.levelSeed = levelSeed;
         this.playerName = playerName;
         this.mainApp = mainApp;
-        this.dbManager = new DatabaseManager();
+        this.database = mainApp.getDatabase();
     }
 
     public void startGame() {
         try {
+            Level level = mainApp.getLevelCache().getLevel(levelSeed, difficulty.gridSize, difficulty.gridSize, difficulty);
             gameBoard = new GameBoard(difficulty);
-            gameBoard.initializeGame();
-            gameRenderer = new GameRenderer(gameBoard);
-            gameStateManager = new GameStateManager(difficulty, playerName, mainApp, dbManager, gameBoard);
-            gameUI = new GameUI(mainApp, gameBoard, gameRenderer, gameStateManager);
-            gameStateManager.setGameStartTime(System.currentTimeMillis());
-            gameUI.createGameStage();
+            gameBoard.loadLevel(level);
+            // Replays of generated levels are re-created from the seed, whatever its value
+            launch(new GameSimulation(gameBoard), ReplayRecorder.startTemporary(gameBoard, true));
         } catch (Exception e) {
-            e.printStackTrace();
-            Alert alert = new Alert(Alert.AlertType.ERROR);
-            alert.setTitle("Error");
-            alert.setHeaderText("Failed to start the game!");
-            alert.setContentText("An error occurred: " + e.getMessage());
-            alert.showAndWait();
-            mainApp.returnToMainMenu();
+            showStartError(e);
         }
     }
 
+    // Continues a saved game; the snapshot already holds the board, so no level is generated
+    public void resumeGame(GameSimulation simulation) {
+        try {
+            gameBoard = simulation.getBoard();
+            launch(simulation, null);
+        } catch (Exception e) {
+            showStartError(e);
+        }
+    }
+
+    private void launch(GameSimulation simulation, ReplayRecorder replayRecorder) {
+        // The window stays at most DEFAULT_MAX_VIEWPORT pixels square and scrolls over larger boards
+        Camera camera = Camera.fitting(gameBoard, Camera.DEFAULT_MAX_VIEWPORT, Camera.DEFAULT_MAX_VIEWPORT);
+        gameRenderer = new GameRenderer(gameBoard, camera);
+        gameStateManager = new GameStateManager(playerName, mainApp, database, simulation, replayRecorder);
+        gameUI = new GameUI(mainApp, gameBoard, gameRenderer, gameStateManager);
+        gameUI.createGameStage();
+    }
+
+    private void showStartError(Exception e) {
+        e.printStackTrace();
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Error");
+        alert.setHeaderText("Failed to start the game!");
+        alert.setContentText("An error occurred: " + e.getMessage());
+        alert.showAndWait();
+        mainApp.returnToMainMenu();
+    }
+
     public GameUI getGameUI() {
         return gameUI;
     }
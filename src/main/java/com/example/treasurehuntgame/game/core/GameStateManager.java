@@ -2,62 +2,70 @@
 package com.example.treasurehuntgame.game.core;
 
 import com.example.treasurehuntgame.TreasureHuntGame;
-import com.example.treasurehuntgame.database.DatabaseManager;
-import com.example.treasurehuntgame.game.entities.Enemy;
-import com.example.treasurehuntgame.game.entities.Trap;
-import com.example.treasurehuntgame.game.ui.GameBoard;
+import com.example.treasurehuntgame.database.AsyncDatabase;
+import com.example.treasurehuntgame.database.GameRecord;
+import com.example.treasurehuntgame.game.sim.Autosaver;
+import com.example.treasurehuntgame.game.sim.Direction;
+import com.example.treasurehuntgame.game.sim.FixedTimestep;
+import com.example.treasurehuntgame.game.sim.GameBoard;
+import com.example.treasurehuntgame.game.sim.GameSimulation;
+import com.example.treasurehuntgame.game.sim.GameSnapshot;
+import com.example.treasurehuntgame.game.sim.InputQueue;
+import com.example.treasurehuntgame.game.sim.ReplayRecorder;
 import com.example.treasurehuntgame.game.ui.GameRenderer;
+import com.example.treasurehuntgame.metrics.GameMetrics;
 import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.Optional;
 
 public class GameStateManager {
     private final GameDifficulty difficulty;
     private final String playerName;
     private final TreasureHuntGame mainApp;
-    private final DatabaseManager dbManager;
+    private final AsyncDatabase database;
     private final GameBoard gameBoard;
+    private final GameSimulation simulation;
     private boolean gameRunning = true;
     private boolean gameWon = false;
-    private long gameStartTime;
-    private int playerLives;
     private long timeLimit;
     private boolean randomMovement = false;
     private AnimationTimer gameLoop;
-
-    public GameStateManager(GameDifficulty difficulty, String playerName, TreasureHuntGame mainApp, DatabaseManager dbManager, GameBoard gameBoard) {
-        this.difficulty = difficulty;
+    private ReplayRecorder replayRecorder;
+    private final Autosaver autosaver;
+    private final GameMetrics metrics;
+    private final InputQueue inputQueue = InputQueue.fromSystemProperties();
+    // Oldest offer time among moves applied since the last frame was drawn, or 0 if none
+    private long pendingInputNanos;
+
+    // replayRecorder may be null: a resumed game has no input log from its first tick, so it is played without a replay
+    public GameStateManager(String playerName, TreasureHuntGame mainApp, AsyncDatabase database, GameSimulation simulation, ReplayRecorder replayRecorder) {
+        this.difficulty = simulation.getDifficulty();
         this.playerName = playerName;
         this.mainApp = mainApp;
-        this.dbManager = dbManager;
-        this.gameBoard = gameBoard;
-        switch (difficulty) {
-            case EASY:
-                playerLives = 5;
-                timeLimit = 0;
-                break;
-            case MEDIUM:
-                playerLives = 3;
-                timeLimit = 0;
-                break;
-            case HARD:
-                playerLives = 2;
-                timeLimit = 120000;
-                break;
-        }
-    }
-
-    public void setGameStartTime(long gameStartTime) {
-        this.gameStartTime = gameStartTime;
+        this.database = database;
+        this.gameBoard = simulation.getBoard();
+        this.simulation = simulation;
+        this.timeLimit = difficulty.timeLimitMillis;
+        this.autosaver = new Autosaver(GameSnapshot.fileFor(playerName));
+        this.metrics = mainApp.getMetrics();
+        simulation.setMetrics(metrics);
+        this.replayRecorder = replayRecorder;
     }
 
+    // Simulation runs at the difficulty's fixed tick rate regardless of frame rate; each frame
+    // renders the state interpolated by however far into the next tick the accumulator is
     public void startGameLoop(GameRenderer gameRenderer, GameBoard gameBoard) {
+        FixedTimestep timestep = new FixedTimestep(difficulty.ticksPerSecond);
+        metrics.resetGameLoop();
         gameLoop = new AnimationTimer() {
-            private long lastEnemyMove = 0;
+            private long lastFrame;
 
             @Override
             public void handle(long now) {
@@ -65,76 +73,98 @@ public class GameStateManager {
                     stop();
                     return;
                 }
-
-                if (timeLimit > 0 && System.currentTimeMillis() - gameStartTime > timeLimit) {
-                    endGame(false);
-                    stop();
-                    return;
+                long workStart = System.nanoTime();
+                long allocatedBefore = GameMetrics.currentThreadAllocatedBytes();
+                if (lastFrame != 0) {
+                    metrics.frameInterval.record(now - lastFrame);
                 }
+                lastFrame = now;
 
-                if (now - lastEnemyMove > 500_000_000) {
-                    gameBoard.moveEnemies();
-                    lastEnemyMove = now;
+                int ticks = timestep.advance(now);
+                for (int i = 0; i < ticks && simulation.getStatus() == GameSimulation.Status.RUNNING; i++) {
+                    inputQueue.drain(simulation.getTick(), GameStateManager.this::applyCommand);
+                    simulation.step();
+                }
+                long renderStart = System.nanoTime();
+                gameRenderer.render(timestep.getAlpha());
+                metrics.render.record(System.nanoTime() - renderStart);
+                recordInputLatency();
+                autosaver.maybeSave(simulation);
+
+                metrics.frameWork.record(System.nanoTime() - workStart);
+                if (allocatedBefore >= 0) {
+                    metrics.allocatedBytes.record(GameMetrics.currentThreadAllocatedBytes() - allocatedBefore);
                 }
+                metrics.recordFrame();
 
-                gameRenderer.render();
+                if (simulation.getStatus() != GameSimulation.Status.RUNNING) {
+                    stop();
+                    gameWon = simulation.getStatus() == GameSimulation.Status.WON;
+                    // Dialogs cannot block inside an animation pulse
+                    Platform.runLater(() -> endGame(gameWon));
+                }
             }
         };
         gameLoop.start();
     }
 
-    public void movePlayer(int newX, int newY) {
-        gameBoard.movePlayer(newX, newY);
-
-        if (gameBoard.getPlayer().x == gameBoard.getTreasure().x && gameBoard.getPlayer().y == gameBoard.getTreasure().y) {
-            gameWon = true;
-            endGame(true);
-            return;
+    // Queues the move for the next tick; called from key events, which may arrive many times per frame
+    public void handleCommand(Direction direction, boolean repeat) {
+        if (gameRunning) {
+            inputQueue.offer(direction, repeat, System.nanoTime());
         }
+    }
 
-        for (Trap trap : gameBoard.getTraps()) {
-            if (gameBoard.getPlayer().x == trap.x && gameBoard.getPlayer().y == trap.y && !trap.triggered) {
-                trap.triggered = true;
-                playerLives--;
-                if (playerLives <= 0) {
-                    endGame(false);
-                    return;
-                }
+    private void applyCommand(Direction direction, long enqueuedAt) {
+        if (pendingInputNanos == 0) {
+            pendingInputNanos = enqueuedAt;
+        }
+        if (replayRecorder != null) {
+            try {
+                replayRecorder.record(simulation.getTick(), direction);
+            } catch (IOException e) {
+                System.err.println("Replay recording failed: " + e.getMessage());
+                discardReplay();
             }
         }
+        simulation.apply(direction);
+    }
 
-        for (Enemy enemy : gameBoard.getEnemies()) {
-            if (gameBoard.getPlayer().x == enemy.x && gameBoard.getPlayer().y == enemy.y) {
-                playerLives--;
-                if (playerLives <= 0) {
-                    endGame(false);
-                    return;
-                }
-            }
+    // Time from the key event to the end of the frame that first shows its effect
+    private void recordInputLatency() {
+        if (pendingInputNanos == 0) {
+            return;
         }
+        metrics.inputLatency.record(System.nanoTime() - pendingInputNanos);
+        pendingInputNanos = 0;
     }
 
     public void updateInfoPanel(HBox infoPanel) {
         Label livesLabel = (Label) infoPanel.getChildren().get(0);
-        livesLabel.setText("Lives: " + playerLives);
+        livesLabel.setText("Lives: " + simulation.getLives());
 
         if (timeLimit > 0) {
             Label timeLabel = (Label) infoPanel.getChildren().get(2);
-            long remainingTime = Math.max(0, timeLimit - (System.currentTimeMillis() - gameStartTime));
-            timeLabel.setText("Time: " + (remainingTime / 1000) + "s");
+            timeLabel.setText("Time: " + (simulation.getRemainingMillis() / 1000) + "s");
         }
     }
 
     public void endGame(boolean won) {
+        if (!gameRunning) {
+            return;
+        }
         gameRunning = false;
         if (gameLoop != null) {
             gameLoop.stop();
         }
 
-        long gameEndTime = System.currentTimeMillis();
-        int timeSpent = (int) ((gameEndTime - gameStartTime) / 1000);
+        autosaver.discard();
+        autosaver.close();
+
+        int timeSpent = (int) (simulation.getElapsedMillis() / 1000);
 
-        dbManager.saveGameResult(playerName, difficulty.toString(), won ? "WIN" : "LOSS", timeSpent);
+        GameRecord record = database.submitGameResult(playerName, difficulty.toString(), won ? "WIN" : "LOSS", timeSpent);
+        saveReplay(record);
 
         Alert alert = new Alert(won ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING);
         alert.setTitle("Game Over");
@@ -150,13 +180,54 @@ public class GameStateManager {
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent()) {
             if (result.get() == playAgainButton) {
-                mainApp.startGame(difficulty);
+                // Same level again; it comes straight from the level cache
+                mainApp.startGame(difficulty, gameBoard.getLevelSeed());
             } else {
                 mainApp.returnToMainMenu();
             }
         }
     }
 
+    // Called when the game window is closed mid-game: saves the game so it can be resumed from the menu
+    public void suspend() {
+        if (!gameRunning) {
+            return;
+        }
+        gameRunning = false;
+        if (gameLoop != null) {
+            gameLoop.stop();
+        }
+        autosaver.saveNow(simulation);
+        autosaver.close();
+        if (replayRecorder != null) {
+            discardReplay();
+        }
+    }
+
+    private void saveReplay(GameRecord record) {
+        if (replayRecorder == null) {
+            return;
+        }
+        try {
+            replayRecorder.finish(simulation);
+            replayRecorder.moveTo(ReplayRecorder.fileFor(record.username, record.playedAt));
+        } catch (IOException e) {
+            System.err.println("Save replay error: " + e.getMessage());
+            discardReplay();
+        }
+        replayRecorder = null;
+    }
+
+    private void discardReplay() {
+        try {
+            replayRecorder.close();
+            Files.deleteIfExists(replayRecorder.getFile());
+        } catch (IOException e) {
+            System.err.println("Discard replay error: " + e.getMessage());
+        }
+        replayRecorder = null;
+    }
+
     public void toggleRandomMovement() {
         randomMovement = !randomMovement;
     }
@@ -164,6 +235,7 @@ public class GameStateManager {
     public boolean isGameRunning() { return gameRunning; }
     public boolean isRandomMovement() { return randomMovement; }
     public GameDifficulty getDifficulty() { return difficulty; }
-    public int getPlayerLives() { return playerLives; }
+    public int getPlayerLives() { return simulation.getLives(); }
+    public GameSimulation getSimulation() { return simulation; }
     public long getTimeLimit() { return timeLimit; }
 }
\ No newline at end of file
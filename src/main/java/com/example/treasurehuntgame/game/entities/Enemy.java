@@ -1,10 +1,10 @@
 package com.example.treasurehuntgame.game.entities;
 
 public class Enemy {
-    public int x, y;
+    public final int x, y;
 
     public Enemy(int x, int y) {
         this.x = x;
         this.y = y;
     }
-}
\ No newline at end of file
+}
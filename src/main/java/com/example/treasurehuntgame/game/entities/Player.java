@@ -1,10 +1,10 @@
 package com.example.treasurehuntgame.game.entities;
 
 public class Player {
-    public int x, y;
+    public final int x, y;
 
     public Player(int x, int y) {
         this.x = x;
         this.y = y;
     }
-}
\ No newline at end of file
+}
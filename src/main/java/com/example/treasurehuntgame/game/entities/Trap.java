@@ -1,12 +1,12 @@
 package com.example.treasurehuntgame.game.entities;
 
 public class Trap {
-    public int x, y;
-    public boolean triggered;
+    public final int x, y;
+    public final boolean triggered;
 
-    public Trap(int x, int y) {
+    public Trap(int x, int y, boolean triggered) {
         this.x = x;
         this.y = y;
-        this.triggered = false;
+        this.triggered = triggered;
     }
-}
\ No newline at end of file
+}
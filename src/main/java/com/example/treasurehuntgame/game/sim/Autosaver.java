@@ -0,0 +1,97 @@
+package com.example.treasurehuntgame.game.sim;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Periodically snapshots a running game. The snapshot is encoded on the caller's thread, which owns the
+// simulation and takes microseconds; the disk write happens on a single background thread, so file I/O
+// never stalls a frame. If the previous write is still in flight the save is retried on the next call.
+public class Autosaver implements AutoCloseable {
+    public static final String INTERVAL_PROPERTY = "treasurehunt.autosaveSeconds";
+    public static final int DEFAULT_INTERVAL_SECONDS = 15;
+
+    private final Path file;
+    private final long intervalMillis;
+    private final ExecutorService executor;
+    private final AtomicBoolean writing = new AtomicBoolean();
+    private long lastSavedAt;
+
+    public Autosaver(Path file) {
+        this(file, Integer.getInteger(INTERVAL_PROPERTY, DEFAULT_INTERVAL_SECONDS) * 1000L);
+    }
+
+    public Autosaver(Path file, long intervalMillis) {
+        this.file = file;
+        this.intervalMillis = intervalMillis;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Intervals are measured in simulated time, so a paused or stalled game does not save repeatedly
+    public void maybeSave(GameSimulation simulation) {
+        if (intervalMillis <= 0 || simulation.getElapsedMillis() - lastSavedAt < intervalMillis
+                || simulation.getStatus() != GameSimulation.Status.RUNNING) {
+            return;
+        }
+        if (!writing.compareAndSet(false, true)) {
+            return;
+        }
+        byte[] data = GameSnapshot.encode(simulation);
+        lastSavedAt = simulation.getElapsedMillis();
+        executor.execute(() -> {
+            try {
+                GameSnapshot.write(data, file);
+            } catch (IOException e) {
+                System.err.println("Autosave error: " + e.getMessage());
+            } finally {
+                writing.set(false);
+            }
+        });
+    }
+
+    // Saves immediately and waits for the write, e.g. when the game window is closed mid-run
+    public void saveNow(GameSimulation simulation) {
+        byte[] data = GameSnapshot.encode(simulation);
+        await(executor.submit(() -> {
+            GameSnapshot.write(data, file);
+            return null;
+        }));
+    }
+
+    // Removes the save once the game is over; queued behind any pending write so that write cannot resurrect it
+    public void discard() {
+        executor.execute(() -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Delete save error: " + e.getMessage());
+            }
+        });
+    }
+
+    private void await(Future<?> future) {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            System.err.println("Save game error: " + e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
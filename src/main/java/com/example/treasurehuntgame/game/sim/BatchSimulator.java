@@ -0,0 +1,121 @@
+package com.example.treasurehuntgame.game.sim;
+
+import com.example.treasurehuntgame.game.core.GameDifficulty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+// Balance testing from the command line: plays the given number of bot games per difficulty on every core,
+// prints win rate, time to treasure and causes of death, and streams one record per game to a file.
+// Each record carries its level seed, so any game can be regenerated with LevelGenerator and replayed.
+//   java ... BatchSimulator <games per difficulty> [random|seeker] [results file]
+public class BatchSimulator {
+    public static final int BOT_RANDOM = 0;
+    public static final int BOT_SEEKER = 1;
+    // Difficulties without a time limit stop after ten simulated minutes
+    private static final long MAX_GAME_MILLIS = 600_000;
+
+    private final SimulationHarness harness;
+
+    public BatchSimulator(SimulationHarness harness) {
+        this.harness = harness;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int bot = args.length > 1 && args[1].equalsIgnoreCase("seeker") ? BOT_SEEKER : BOT_RANDOM;
+        Path output = Path.of(args.length > 2 ? args[2] : "simulation-results.bin");
+
+        BatchSimulator simulator = new BatchSimulator(new SimulationHarness());
+        try (SimulationResultWriter writer = new SimulationResultWriter(output)) {
+            for (GameDifficulty difficulty : GameDifficulty.values()) {
+                Report report = simulator.run(difficulty, games, bot, writer);
+                System.out.println(report);
+            }
+            System.out.println("Wrote " + writer.getRecordCount() + " results to " + output.toAbsolutePath());
+        }
+    }
+
+    public Report run(GameDifficulty difficulty, int games, int bot, SimulationResultWriter writer) {
+        Report report = new Report(difficulty);
+        IntFunction<PlayerController> controllers = bot == BOT_SEEKER
+                ? game -> new SeekerBot()
+                : game -> new RandomBot(SimulationHarness.levelSeed(difficulty, game));
+        long maxTicks = MAX_GAME_MILLIS * difficulty.ticksPerSecond / 1000;
+
+        SimulationHarness.Summary summary = harness.run(games, difficulty, controllers, maxTicks, (game, simulation) -> {
+            report.record(simulation);
+            if (writer != null) {
+                try {
+                    writer.write(simulation, bot);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+        report.gamesPerSecond = summary.getGamesPerSecond();
+        return report;
+    }
+
+    public static final class Report {
+        private final GameDifficulty difficulty;
+        private final LongAdder games = new LongAdder();
+        private final LongAdder wins = new LongAdder();
+        private final LongAdder winTicks = new LongAdder();
+        private final LongAdder unfinished = new LongAdder();
+        private final Map<GameEvent, LongAdder> deaths = new EnumMap<>(GameEvent.class);
+        private double gamesPerSecond;
+
+        Report(GameDifficulty difficulty) {
+            this.difficulty = difficulty;
+            deaths.put(GameEvent.TRAP_TRIGGERED, new LongAdder());
+            deaths.put(GameEvent.CAUGHT_BY_ENEMY, new LongAdder());
+            deaths.put(GameEvent.TIME_UP, new LongAdder());
+        }
+
+        void record(GameSimulation simulation) {
+            games.increment();
+            GameEvent reason = simulation.getEndReason();
+            if (reason == null) {
+                unfinished.increment();
+            } else if (reason == GameEvent.TREASURE_FOUND) {
+                wins.increment();
+                winTicks.add(simulation.getTick());
+            } else {
+                deaths.get(reason).increment();
+            }
+        }
+
+        public double getWinRate() {
+            long total = games.sum();
+            return total == 0 ? 0 : (double) wins.sum() / total;
+        }
+
+        // Average simulated time to reach the treasure over won games, in seconds
+        public double getAverageTimeToTreasure() {
+            long won = wins.sum();
+            return won == 0 ? 0 : (double) winTicks.sum() / won / difficulty.ticksPerSecond;
+        }
+
+        public long getDeaths(GameEvent cause) {
+            LongAdder count = deaths.get(cause);
+            return count == null ? 0 : count.sum();
+        }
+
+        public long getUnfinished() { return unfinished.sum(); }
+        public double getGamesPerSecond() { return gamesPerSecond; }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d games, win rate %.1f%%, avg time to treasure %.1fs, deaths: trap %d, enemy %d, time %d, unfinished %d, %.0f games/s",
+                    difficulty, games.sum(), getWinRate() * 100, getAverageTimeToTreasure(),
+                    getDeaths(GameEvent.TRAP_TRIGGERED), getDeaths(GameEvent.CAUGHT_BY_ENEMY), getDeaths(GameEvent.TIME_UP),
+                    unfinished.sum(), gamesPerSecond);
+        }
+    }
+}
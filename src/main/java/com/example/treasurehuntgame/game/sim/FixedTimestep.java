@@ -0,0 +1,37 @@
+package com.example.treasurehuntgame.game.sim;
+
+// Accumulator for a fixed simulation rate: real time goes in, a whole number of ticks comes out,
+// and the remainder becomes the interpolation factor between the last two simulated states.
+public class FixedTimestep {
+    // After a stall (window drag, GC) catch up at most this much instead of spiralling
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+
+    private final long tickNanos;
+    private long lastTime = -1;
+    private long accumulator;
+
+    public FixedTimestep(int ticksPerSecond) {
+        this.tickNanos = 1_000_000_000L / ticksPerSecond;
+    }
+
+    // Returns how many ticks to simulate for a frame at the given timestamp
+    public int advance(long now) {
+        if (lastTime < 0) {
+            lastTime = now;
+            return 0;
+        }
+        accumulator += Math.min(now - lastTime, MAX_FRAME_NANOS);
+        lastTime = now;
+        int ticks = (int) (accumulator / tickNanos);
+        accumulator -= ticks * tickNanos;
+        return ticks;
+    }
+
+    public double getAlpha() {
+        return (double) accumulator / tickNanos;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+}
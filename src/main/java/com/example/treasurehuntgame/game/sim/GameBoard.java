@@ -0,0 +1,399 @@
+package com.example.treasurehuntgame.game.sim;
+
+import com.example.treasurehuntgame.game.ai.AStarPathfinder;
+import com.example.treasurehuntgame.game.ai.DistanceField;
+import com.example.treasurehuntgame.game.ai.PursuitStrategy;
+import com.example.treasurehuntgame.game.core.GameDifficulty;
+import com.example.treasurehuntgame.game.entities.Enemy;
+import com.example.treasurehuntgame.game.entities.Player;
+import com.example.treasurehuntgame.game.entities.Trap;
+import com.example.treasurehuntgame.game.entities.Treasure;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+// Structure-of-arrays board: walls are a row-major bitmap (bit y * width + x), entities are parallel
+// coordinate arrays. Nothing here allocates once the board is built, so ticks produce no garbage.
+public class GameBoard {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int[] DX = {0, 0, -1, 1};
+    private static final int[] DY = {-1, 1, 0, 0};
+
+    private final GameDifficulty difficulty;
+    private final int gridWidth;
+    private final int gridHeight;
+    private final int cellSize = 40;
+    private final long[] walls;
+    private final OccupancyIndex occupancy;
+    private int layoutVersion;
+
+    private int playerX;
+    private int playerY;
+    private int treasureX;
+    private int treasureY;
+
+    private int enemyCount;
+    private int[] enemyX = new int[INITIAL_CAPACITY];
+    private int[] enemyY = new int[INITIAL_CAPACITY];
+    private int[] previousEnemyX = new int[INITIAL_CAPACITY];
+    private int[] previousEnemyY = new int[INITIAL_CAPACITY];
+
+    private int trapCount;
+    private int[] trapX = new int[INITIAL_CAPACITY];
+    private int[] trapY = new int[INITIAL_CAPACITY];
+    private boolean[] trapTriggered = new boolean[INITIAL_CAPACITY];
+
+    private PursuitStrategy pursuitStrategy = PursuitStrategy.DISTANCE_FIELD;
+    private final DistanceField distanceField = new DistanceField();
+    private AStarPathfinder pathfinder;
+
+    private long levelSeed;
+
+    public GameBoard(GameDifficulty difficulty) {
+        this(difficulty, difficulty.gridSize, difficulty.gridSize);
+    }
+
+    public GameBoard(GameDifficulty difficulty, int gridWidth, int gridHeight) {
+        this.difficulty = difficulty;
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        this.walls = new long[(gridWidth * gridHeight + 63) >>> 6];
+        this.occupancy = new OccupancyIndex(gridWidth, gridHeight);
+    }
+
+    public void initializeGame() {
+        clear();
+        levelSeed = 0;
+        switch (difficulty) {
+            case EASY:
+                setPlayer(0, 0);
+                setTreasure(9, 9);
+                addEnemy(5, 5);
+                addTrap(3, 3);
+                for (int y = 0; y < gridHeight; y++) {
+                    for (int x = 0; x < gridWidth; x++) {
+                        setWallBit(x, y, (y == 4 && x >= 2 && x <= 7 && x != 5) ||
+                                (y == 6 && x >= 3 && x <= 8 && x != 6) ||
+                                (x == 5 && (y == 2 || y == 3 || y == 7)) ||
+                                (x == 3 && (y == 5)) ||
+                                (x == 7 && (y == 5)));
+                    }
+                }
+                break;
+            case MEDIUM:
+                setPlayer(0, 0);
+                setTreasure(14, 14);
+                addEnemy(7, 7);
+                addEnemy(10, 10);
+                addTrap(5, 5);
+                addTrap(8, 8);
+                for (int y = 0; y < gridHeight; y++) {
+                    for (int x = 0; x < gridWidth; x++) {
+                        setWallBit(x, y, (y == 6 && x >= 3 && x <= 12 && x != 7) ||
+                                (y == 8 && x >= 4 && x <= 13 && x != 9) ||
+                                (y == 10 && x >= 2 && x <= 11 && x != 6) ||
+                                (x == 7 && (y == 3 || y == 5 || y == 11)) ||
+                                (x == 8 && (y == 4 || y == 7)));
+                    }
+                }
+                break;
+            case HARD:
+                setPlayer(0, 0);
+                setTreasure(19, 19);
+                addEnemy(10, 10);
+                addEnemy(15, 15);
+                addEnemy(5, 5);
+                addTrap(7, 7);
+                addTrap(12, 12);
+                addTrap(17, 17);
+                for (int y = 0; y < gridHeight; y++) {
+                    for (int x = 0; x < gridWidth; x++) {
+                        setWallBit(x, y, (y == 8 && x >= 5 && x <= 15 && x != 10) ||
+                                (y == 10 && x >= 4 && x <= 16 && x != 8) ||
+                                (y == 12 && x >= 6 && x <= 17 && x != 9) ||
+                                (y == 14 && x >= 3 && x <= 14 && x != 11) ||
+                                (x == 10 && (y == 3 || y == 5 || y == 7)) ||
+                                (x == 11 && (y == 4 || y == 6 || y == 9)));
+                    }
+                }
+                break;
+        }
+    }
+
+    public void loadLevel(Level level) {
+        if (level.width != gridWidth || level.height != gridHeight) {
+            throw new IllegalArgumentException("Level is " + level.width + "x" + level.height
+                    + " but the board is " + gridWidth + "x" + gridHeight);
+        }
+        clear();
+        System.arraycopy(level.walls, 0, walls, 0, walls.length);
+        setPlayer(level.playerX, level.playerY);
+        setTreasure(level.treasureX, level.treasureY);
+        for (int i = 0; i < level.enemyX.length; i++) {
+            addEnemy(level.enemyX[i], level.enemyY[i]);
+        }
+        for (int i = 0; i < level.trapX.length; i++) {
+            addTrap(level.trapX[i], level.trapY[i]);
+        }
+        levelSeed = level.seed;
+    }
+
+    // Empties the board: no walls, enemies or traps
+    public void clear() {
+        Arrays.fill(walls, 0L);
+        enemyCount = 0;
+        trapCount = 0;
+        occupancy.clear();
+        layoutVersion++;
+    }
+
+    public void setWall(int x, int y, boolean wall) {
+        setWallBit(x, y, wall);
+        layoutVersion++;
+    }
+
+    private void setWallBit(int x, int y, boolean wall) {
+        int bit = y * gridWidth + x;
+        if (wall) {
+            walls[bit >>> 6] |= 1L << bit;
+        } else {
+            walls[bit >>> 6] &= ~(1L << bit);
+        }
+    }
+
+    public boolean isWall(int x, int y) {
+        int bit = y * gridWidth + x;
+        return (walls[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    public boolean isWalkable(int x, int y) {
+        return x >= 0 && x < gridWidth && y >= 0 && y < gridHeight && !isWall(x, y);
+    }
+
+    public void setPlayer(int x, int y) {
+        playerX = x;
+        playerY = y;
+    }
+
+    public void setTreasure(int x, int y) {
+        treasureX = x;
+        treasureY = y;
+    }
+
+    public int addEnemy(int x, int y) {
+        if (enemyCount == enemyX.length) {
+            enemyX = Arrays.copyOf(enemyX, enemyCount * 2);
+            enemyY = Arrays.copyOf(enemyY, enemyCount * 2);
+            previousEnemyX = Arrays.copyOf(previousEnemyX, enemyCount * 2);
+            previousEnemyY = Arrays.copyOf(previousEnemyY, enemyCount * 2);
+        }
+        enemyX[enemyCount] = x;
+        enemyY[enemyCount] = y;
+        previousEnemyX[enemyCount] = x;
+        previousEnemyY[enemyCount] = y;
+        occupancy.addEnemy(x, y);
+        return enemyCount++;
+    }
+
+    public int addTrap(int x, int y) {
+        if (trapCount == trapX.length) {
+            trapX = Arrays.copyOf(trapX, trapCount * 2);
+            trapY = Arrays.copyOf(trapY, trapCount * 2);
+            trapTriggered = Arrays.copyOf(trapTriggered, trapCount * 2);
+        }
+        trapX[trapCount] = x;
+        trapY[trapCount] = y;
+        trapTriggered[trapCount] = false;
+        occupancy.setTrap(x, y, trapCount);
+        return trapCount++;
+    }
+
+    // Remembers enemy positions at the start of a simulation tick, for interpolated rendering
+    public void beginTick() {
+        System.arraycopy(enemyX, 0, previousEnemyX, 0, enemyCount);
+        System.arraycopy(enemyY, 0, previousEnemyY, 0, enemyCount);
+    }
+
+    public void movePlayer(int newX, int newY) {
+        if (isWalkable(newX, newY)) {
+            playerX = newX;
+            playerY = newY;
+        }
+    }
+
+    public void moveEnemies() {
+        if (pursuitStrategy == PursuitStrategy.A_STAR) {
+            moveEnemiesAStar();
+            return;
+        }
+
+        distanceField.update(this, playerX, playerY);
+        for (int i = 0; i < enemyCount; i++) {
+            int x = enemyX[i];
+            int y = enemyY[i];
+            int bestX = x;
+            int bestY = y;
+            int best = distanceField.get(x, y);
+            // Step to the neighbour closest to the player; ties keep the first in up, down, left, right order
+            for (int direction = 0; direction < 4; direction++) {
+                int nx = x + DX[direction];
+                int ny = y + DY[direction];
+                int distance = distanceField.get(nx, ny);
+                if (distance < best) {
+                    best = distance;
+                    bestX = nx;
+                    bestY = ny;
+                }
+            }
+            if (bestX != x || bestY != y) {
+                moveEnemy(i, bestX, bestY);
+            }
+        }
+    }
+
+    private void moveEnemiesAStar() {
+        if (pathfinder == null) {
+            pathfinder = new AStarPathfinder();
+        }
+        for (int i = 0; i < enemyCount; i++) {
+            int step = pathfinder.nextStep(this, enemyX[i], enemyY[i], playerX, playerY);
+            if (step >= 0) {
+                moveEnemy(i, step % gridWidth, step / gridWidth);
+            }
+        }
+    }
+
+    public void moveEnemy(int index, int x, int y) {
+        occupancy.moveEnemy(enemyX[index], enemyY[index], x, y);
+        enemyX[index] = x;
+        enemyY[index] = y;
+    }
+
+    public int getEnemyCountAt(int x, int y) {
+        return occupancy.getEnemyCount(x, y);
+    }
+
+    // Returns the index of the trap on the cell, triggered or not, or -1 if there is none
+    public int getTrapAt(int x, int y) {
+        return occupancy.getTrapIndex(x, y);
+    }
+
+    public void triggerTrap(int index) {
+        trapTriggered[index] = true;
+    }
+
+    public int getPlayerX() { return playerX; }
+    public int getPlayerY() { return playerY; }
+    public int getTreasureX() { return treasureX; }
+    public int getTreasureY() { return treasureY; }
+
+    public int getEnemyCount() { return enemyCount; }
+    public int getEnemyX(int index) { return enemyX[index]; }
+    public int getEnemyY(int index) { return enemyY[index]; }
+    public int getPreviousEnemyX(int index) { return previousEnemyX[index]; }
+    public int getPreviousEnemyY(int index) { return previousEnemyY[index]; }
+
+    public int getTrapCount() { return trapCount; }
+    public int getTrapX(int index) { return trapX[index]; }
+    public int getTrapY(int index) { return trapY[index]; }
+    public boolean isTrapTriggered(int index) { return trapTriggered[index]; }
+
+    // Read-only views over the packed state for callers of the old object API. Each element is
+    // a value built on access, so changing the board still goes through setPlayer, moveEnemy etc.
+    public Player getPlayer() {
+        return new Player(playerX, playerY);
+    }
+
+    public Treasure getTreasure() {
+        return new Treasure(treasureX, treasureY);
+    }
+
+    public List<Enemy> getEnemies() {
+        return new AbstractList<Enemy>() {
+            @Override
+            public Enemy get(int index) {
+                return new Enemy(enemyX[Objects.checkIndex(index, enemyCount)], enemyY[index]);
+            }
+
+            @Override
+            public int size() {
+                return enemyCount;
+            }
+        };
+    }
+
+    public List<Trap> getTraps() {
+        return new AbstractList<Trap>() {
+            @Override
+            public Trap get(int index) {
+                return new Trap(trapX[Objects.checkIndex(index, trapCount)], trapY[index], trapTriggered[index]);
+            }
+
+            @Override
+            public int size() {
+                return trapCount;
+            }
+        };
+    }
+
+    // A copy indexed [x][y], as the board used to store it
+    public boolean[][] getWalls() {
+        boolean[][] copy = new boolean[gridWidth][gridHeight];
+        for (int x = 0; x < gridWidth; x++) {
+            for (int y = 0; y < gridHeight; y++) {
+                copy[x][y] = isWall(x, y);
+            }
+        }
+        return copy;
+    }
+
+    public void setPursuitStrategy(PursuitStrategy pursuitStrategy) {
+        this.pursuitStrategy = pursuitStrategy;
+    }
+
+    public PursuitStrategy getPursuitStrategy() {
+        return pursuitStrategy;
+    }
+
+    public DistanceField getDistanceField() {
+        return distanceField;
+    }
+
+    // Seed of the generated level last loaded, or 0 for the built-in layouts
+    public long getLevelSeed() {
+        return levelSeed;
+    }
+
+    // Restored alongside the rest of a saved game, so Play Again still regenerates the same level
+    void restoreLevelSeed(long levelSeed) {
+        this.levelSeed = levelSeed;
+    }
+
+    // The live wall bitmap, for GameSnapshot to copy in and out without per-cell calls
+    long[] wallWords() {
+        return walls;
+    }
+
+    public GameDifficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public int getGridWidth() {
+        return gridWidth;
+    }
+
+    public int getGridHeight() {
+        return gridHeight;
+    }
+
+    // Bumped whenever the walls change, so renderers know to rebuild cached static layers
+    public int getLayoutVersion() {
+        return layoutVersion;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+}
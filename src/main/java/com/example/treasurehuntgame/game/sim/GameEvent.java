@@ -0,0 +1,12 @@
+package com.example.treasurehuntgame.game.sim;
+
+// What a GameSimulation reports to its listeners as it applies commands and ticks
+public enum GameEvent {
+    PLAYER_MOVED,
+    ENEMIES_MOVED,
+    TRAP_TRIGGERED,
+    CAUGHT_BY_ENEMY,
+    TREASURE_FOUND,
+    TIME_UP,
+    OUT_OF_LIVES
+}
@@ -0,0 +1,5 @@
+package com.example.treasurehuntgame.game.sim;
+
+public interface GameEventListener {
+    void onEvent(GameSimulation simulation, GameEvent event);
+}
@@ -0,0 +1,172 @@
+package com.example.treasurehuntgame.game.sim;
+
+import com.example.treasurehuntgame.game.core.GameDifficulty;
+import com.example.treasurehuntgame.metrics.GameMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Game rules on top of a GameBoard, advanced in fixed ticks. Has no JavaFX dependency, so it can be
+// stepped as fast as the CPU allows from tests, benchmarks or batch runs. Input arrives as Direction
+// commands and outcomes leave as GameEvents; a simulation is confined to one thread at a time.
+public class GameSimulation {
+    public enum Status { RUNNING, WON, LOST }
+
+    private final GameBoard board;
+    private final GameDifficulty difficulty;
+    private int lives;
+    private long tick;
+    private Status status = Status.RUNNING;
+    private GameEvent endReason;
+    private final List<GameEventListener> listeners = new ArrayList<>();
+    // Null in headless runs, so batch simulations pay nothing for phase timing
+    private GameMetrics metrics;
+
+    public GameSimulation(GameBoard board) {
+        this.board = board;
+        this.difficulty = board.getDifficulty();
+        this.lives = difficulty.lives;
+    }
+
+    // Resumes from a saved game; the board must already hold the saved positions
+    void restore(long tick, int lives) {
+        this.tick = tick;
+        this.lives = lives;
+    }
+
+    // Times enemy moves and player moves into the given metrics
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void addListener(GameEventListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GameEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    public void step() {
+        if (status != Status.RUNNING) {
+            return;
+        }
+        board.beginTick();
+        tick++;
+
+        if (tick % difficulty.enemyMoveTicks == 0) {
+            int x = board.getPlayerX();
+            int y = board.getPlayerY();
+            if (metrics != null) {
+                long start = System.nanoTime();
+                board.moveEnemies();
+                metrics.moveEnemies.record(System.nanoTime() - start);
+            } else {
+                board.moveEnemies();
+            }
+            emit(GameEvent.ENEMIES_MOVED);
+            // Every enemy on the player's cell after the move costs a life, as when the player steps onto one.
+            // Comparing counts before and after would miss one enemy leaving the cell as another enters it.
+            int caught = board.getEnemyCountAt(x, y);
+            if (caught > 0) {
+                emit(GameEvent.CAUGHT_BY_ENEMY);
+                loseLives(caught, GameEvent.CAUGHT_BY_ENEMY);
+            }
+        }
+
+        if (status == Status.RUNNING && difficulty.timeLimitMillis > 0 && getElapsedMillis() >= difficulty.timeLimitMillis) {
+            finish(Status.LOST, GameEvent.TIME_UP);
+        }
+    }
+
+    public void apply(Direction direction) {
+        if (metrics != null) {
+            long start = System.nanoTime();
+            movePlayer(board.getPlayerX() + direction.dx, board.getPlayerY() + direction.dy);
+            metrics.movePlayer.record(System.nanoTime() - start);
+        } else {
+            movePlayer(board.getPlayerX() + direction.dx, board.getPlayerY() + direction.dy);
+        }
+    }
+
+    public void step(int ticks) {
+        for (int i = 0; i < ticks && status == Status.RUNNING; i++) {
+            step();
+        }
+    }
+
+    public void movePlayer(int newX, int newY) {
+        if (status != Status.RUNNING) {
+            return;
+        }
+        int oldX = board.getPlayerX();
+        int oldY = board.getPlayerY();
+        board.movePlayer(newX, newY);
+
+        int x = board.getPlayerX();
+        int y = board.getPlayerY();
+        if (x == oldX && y == oldY) {
+            return;
+        }
+        emit(GameEvent.PLAYER_MOVED);
+        if (x == board.getTreasureX() && y == board.getTreasureY()) {
+            finish(Status.WON, GameEvent.TREASURE_FOUND);
+            return;
+        }
+
+        int trap = board.getTrapAt(x, y);
+        if (trap >= 0 && !board.isTrapTriggered(trap)) {
+            board.triggerTrap(trap);
+            emit(GameEvent.TRAP_TRIGGERED);
+            loseLives(1, GameEvent.TRAP_TRIGGERED);
+            if (status != Status.RUNNING) {
+                return;
+            }
+        }
+
+        // Every enemy on the cell costs a life
+        int enemiesHere = board.getEnemyCountAt(x, y);
+        if (enemiesHere > 0) {
+            emit(GameEvent.CAUGHT_BY_ENEMY);
+            loseLives(enemiesHere, GameEvent.CAUGHT_BY_ENEMY);
+        }
+    }
+
+    private void loseLives(int count, GameEvent cause) {
+        lives -= count;
+        if (lives <= 0) {
+            finish(Status.LOST, cause);
+            emit(GameEvent.OUT_OF_LIVES);
+        }
+    }
+
+    private void finish(Status status, GameEvent reason) {
+        this.status = status;
+        this.endReason = reason;
+        if (reason == GameEvent.TIME_UP || reason == GameEvent.TREASURE_FOUND) {
+            emit(reason);
+        }
+    }
+
+    private void emit(GameEvent event) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onEvent(this, event);
+        }
+    }
+
+    public long getElapsedMillis() {
+        return tick * 1000 / difficulty.ticksPerSecond;
+    }
+
+    public long getRemainingMillis() {
+        return Math.max(0, difficulty.timeLimitMillis - getElapsedMillis());
+    }
+
+    public GameBoard getBoard() { return board; }
+    public GameDifficulty getDifficulty() { return difficulty; }
+    public Status getStatus() { return status; }
+    // TREASURE_FOUND, TIME_UP, TRAP_TRIGGERED or CAUGHT_BY_ENEMY once the game is over, otherwise null
+    public GameEvent getEndReason() { return endReason; }
+    public int getLives() { return lives; }
+    public long getTick() { return tick; }
+}
@@ -0,0 +1,186 @@
+package com.example.treasurehuntgame.game.sim;
+
+import com.example.treasurehuntgame.game.core.GameDifficulty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Save-game format for a running simulation:
+//   int magic, byte version, byte difficulty, long level seed, varint width, varint height,
+//   varint tick, signed varint lives, varint player cell, varint treasure cell,
+//   wall bitmap as raw longs (one bit per cell, row-major),
+//   varint enemy count + zig-zag deltas between consecutive enemy cells,
+//   varint trap count + zig-zag deltas between consecutive trap cells + triggered flags packed 8 per byte.
+// Cells are y * width + x. Entity order is kept, since enemies move in index order.
+public final class GameSnapshot {
+    public static final int MAGIC = 0x54485356;
+    public static final byte VERSION = 1;
+    public static final String DIRECTORY_PROPERTY = "treasurehunt.saveDir";
+
+    private GameSnapshot() {
+    }
+
+    public static Path getDirectory() {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        return directory != null
+                ? Path.of(directory)
+                : Path.of(System.getProperty("user.home"), ".treasurehunt", "saves");
+    }
+
+    public static Path fileFor(String username) {
+        return getDirectory().resolve(username.replaceAll("[^A-Za-z0-9_-]", "_") + ".sav");
+    }
+
+    public static byte[] encode(GameSimulation simulation) {
+        GameBoard board = simulation.getBoard();
+        int width = board.getGridWidth();
+        long[] walls = board.wallWords();
+        int enemies = board.getEnemyCount();
+        int traps = board.getTrapCount();
+        ByteBuffer buffer = ByteBuffer.allocate(64 + walls.length * 8
+                + (enemies + traps) * Varint.MAX_BYTES + traps / 8 + 1);
+
+        buffer.putInt(MAGIC)
+                .put(VERSION)
+                .put((byte) board.getDifficulty().ordinal())
+                .putLong(board.getLevelSeed());
+        Varint.putUnsigned(buffer, width);
+        Varint.putUnsigned(buffer, board.getGridHeight());
+        Varint.putUnsigned(buffer, simulation.getTick());
+        Varint.putSigned(buffer, simulation.getLives());
+        Varint.putUnsigned(buffer, board.getPlayerY() * width + board.getPlayerX());
+        Varint.putUnsigned(buffer, board.getTreasureY() * width + board.getTreasureX());
+        for (long word : walls) {
+            buffer.putLong(word);
+        }
+
+        Varint.putUnsigned(buffer, enemies);
+        long previous = 0;
+        for (int i = 0; i < enemies; i++) {
+            long cell = (long) board.getEnemyY(i) * width + board.getEnemyX(i);
+            Varint.putSigned(buffer, cell - previous);
+            previous = cell;
+        }
+
+        Varint.putUnsigned(buffer, traps);
+        previous = 0;
+        for (int i = 0; i < traps; i++) {
+            long cell = (long) board.getTrapY(i) * width + board.getTrapX(i);
+            Varint.putSigned(buffer, cell - previous);
+            previous = cell;
+        }
+        for (int i = 0; i < traps; i += 8) {
+            int bits = 0;
+            for (int j = 0; j < 8 && i + j < traps; j++) {
+                if (board.isTrapTriggered(i + j)) {
+                    bits |= 1 << j;
+                }
+            }
+            buffer.put((byte) bits);
+        }
+
+        byte[] data = new byte[buffer.position()];
+        buffer.flip().get(data);
+        return data;
+    }
+
+    public static GameSimulation decode(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a saved game");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported saved game version " + version);
+        }
+        GameDifficulty difficulty = GameDifficulty.values()[buffer.get()];
+        long levelSeed = buffer.getLong();
+        long width = Varint.getUnsigned(buffer);
+        long height = Varint.getUnsigned(buffer);
+        // Reject sizes the rest of the data cannot hold before allocating a board for them
+        if (width <= 0 || height <= 0 || width > Integer.MAX_VALUE / height
+                || ((width * height + 63) >>> 6) * 8 > buffer.remaining()) {
+            throw new IllegalArgumentException("Saved game has an invalid board size " + width + "x" + height);
+        }
+        int cells = (int) (width * height);
+        long tick = Varint.getUnsigned(buffer);
+        int lives = (int) Varint.getSigned(buffer);
+        int playerCell = cell(Varint.getUnsigned(buffer), cells);
+        int treasureCell = cell(Varint.getUnsigned(buffer), cells);
+
+        GameBoard board = new GameBoard(difficulty, (int) width, (int) height);
+        board.clear();
+        long[] walls = board.wallWords();
+        for (int i = 0; i < walls.length; i++) {
+            walls[i] = buffer.getLong();
+        }
+        board.setPlayer((int) (playerCell % width), (int) (playerCell / width));
+        board.setTreasure((int) (treasureCell % width), (int) (treasureCell / width));
+
+        int enemies = count(Varint.getUnsigned(buffer), buffer);
+        long cell = 0;
+        for (int i = 0; i < enemies; i++) {
+            cell = cell(cell + Varint.getSigned(buffer), cells);
+            board.addEnemy((int) (cell % width), (int) (cell / width));
+        }
+
+        int traps = count(Varint.getUnsigned(buffer), buffer);
+        cell = 0;
+        for (int i = 0; i < traps; i++) {
+            cell = cell(cell + Varint.getSigned(buffer), cells);
+            board.addTrap((int) (cell % width), (int) (cell / width));
+        }
+        for (int i = 0; i < traps; i += 8) {
+            int bits = buffer.get();
+            for (int j = 0; j < 8 && i + j < traps; j++) {
+                if ((bits & (1 << j)) != 0) {
+                    board.triggerTrap(i + j);
+                }
+            }
+        }
+        board.restoreLevelSeed(levelSeed);
+
+        GameSimulation simulation = new GameSimulation(board);
+        simulation.restore(tick, lives);
+        return simulation;
+    }
+
+    private static int cell(long cell, int cells) {
+        if (cell < 0 || cell >= cells) {
+            throw new IllegalArgumentException("Saved game has a cell outside the board: " + cell);
+        }
+        return (int) cell;
+    }
+
+    // Every entity takes at least one byte, so a count larger than the bytes left is corrupt
+    private static int count(long count, ByteBuffer buffer) {
+        if (count > buffer.remaining()) {
+            throw new IllegalArgumentException("Saved game has an invalid entity count " + count);
+        }
+        return (int) count;
+    }
+
+    public static GameSimulation read(Path file) throws IOException {
+        return decode(ByteBuffer.wrap(Files.readAllBytes(file)));
+    }
+
+    // Writes to a sibling temp file, forces it to disk, then renames over the target,
+    // so a crash mid-write leaves the previous save intact
+    public static void write(byte[] data, Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
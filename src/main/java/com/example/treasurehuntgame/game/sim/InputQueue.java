@@ -0,0 +1,115 @@
+package com.example.treasurehuntgame.game.sim;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ObjLongConsumer;
+
+// Single-producer, single-consumer ring buffer of player moves. Key events offer moves as they arrive;
+// the game loop drains the queue once per simulation tick, so key auto-repeat no longer reaches the
+// simulation or the renderer directly. Head and tail are only ever advanced by their own side, which
+// makes the queue lock-free without any compare-and-set.
+//
+// Moves are marked as taps (a fresh key press) or repeats (auto-repeat of a held key). Only repeats
+// are thinned out: coalescing drops a repeat identical to the move still waiting at the tail (a held
+// key queues one move, not a burst), and rate limiting drops a repeat of the last applied direction
+// within repeatIntervalTicks. Taps are never dropped, so quick deliberate presses each move once.
+// At most maxMovesPerTick moves are applied per tick; the rest wait.
+public class InputQueue {
+    public static final String COALESCE_PROPERTY = "treasurehunt.input.coalesce";
+    public static final String REPEAT_TICKS_PROPERTY = "treasurehunt.input.repeatTicks";
+    public static final String MOVES_PER_TICK_PROPERTY = "treasurehunt.input.movesPerTick";
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final Direction[] directions;
+    private final boolean[] repeats;
+    private final long[] enqueuedAt;
+    private final int mask;
+    private final boolean coalesce;
+    private final int repeatIntervalTicks;
+    private final int maxMovesPerTick;
+    // Next slot to read, written only by the consumer
+    private final AtomicLong head = new AtomicLong();
+    // Next slot to write, written only by the producer
+    private final AtomicLong tail = new AtomicLong();
+
+    // Producer-side counters
+    private long coalesced;
+    private long overflowed;
+    // Consumer-side state
+    private long throttled;
+    private Direction lastDirection;
+    private long lastAppliedTick;
+
+    public InputQueue(int capacity, boolean coalesce, int repeatIntervalTicks, int maxMovesPerTick) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity);
+        }
+        this.directions = new Direction[capacity];
+        this.repeats = new boolean[capacity];
+        this.enqueuedAt = new long[capacity];
+        this.mask = capacity - 1;
+        this.coalesce = coalesce;
+        this.repeatIntervalTicks = repeatIntervalTicks;
+        this.maxMovesPerTick = Math.max(1, maxMovesPerTick);
+    }
+
+    public static InputQueue fromSystemProperties() {
+        return new InputQueue(DEFAULT_CAPACITY,
+                Boolean.parseBoolean(System.getProperty(COALESCE_PROPERTY, "true")),
+                Integer.getInteger(REPEAT_TICKS_PROPERTY, 2),
+                Integer.getInteger(MOVES_PER_TICK_PROPERTY, 1));
+    }
+
+    // Producer side. repeat is true for auto-repeat events of a key already held down.
+    // Returns false if the move was coalesced or the queue is full
+    public boolean offer(Direction direction, boolean repeat, long nanos) {
+        long t = tail.get();
+        long h = head.get();
+        if (repeat && coalesce && t > h && directions[(int) (t - 1) & mask] == direction) {
+            coalesced++;
+            return false;
+        }
+        if (t - h == directions.length) {
+            overflowed++;
+            return false;
+        }
+        int slot = (int) t & mask;
+        directions[slot] = direction;
+        repeats[slot] = repeat;
+        enqueuedAt[slot] = nanos;
+        // Publishes the slot contents before the consumer can observe the new tail
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    // Consumer side, called once per tick before the simulation steps. Each applied move is passed
+    // to the sink with the nanoTime it was offered at. Returns how many moves were applied.
+    public int drain(long tick, ObjLongConsumer<Direction> sink) {
+        long h = head.get();
+        long t = tail.get();
+        int applied = 0;
+        while (h < t && applied < maxMovesPerTick) {
+            int slot = (int) h & mask;
+            Direction direction = directions[slot];
+            long nanos = enqueuedAt[slot];
+            h++;
+            if (repeats[slot] && direction == lastDirection && tick - lastAppliedTick < repeatIntervalTicks) {
+                throttled++;
+                continue;
+            }
+            lastDirection = direction;
+            lastAppliedTick = tick;
+            sink.accept(direction, nanos);
+            applied++;
+        }
+        head.lazySet(h);
+        return applied;
+    }
+
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    public long getCoalescedCount() { return coalesced; }
+    public long getOverflowCount() { return overflowed; }
+    public long getThrottledCount() { return throttled; }
+}
@@ -0,0 +1,47 @@
+package com.example.treasurehuntgame.game.sim;
+
+import com.example.treasurehuntgame.game.core.GameDifficulty;
+
+// Immutable starting layout produced by LevelGenerator. Safe to share between games and threads;
+// GameBoard.loadLevel copies it into the board's own arrays.
+public final class Level {
+    public final long seed;
+    public final int width;
+    public final int height;
+    public final GameDifficulty difficulty;
+    public final int playerX;
+    public final int playerY;
+    public final int treasureX;
+    public final int treasureY;
+    final long[] walls;
+    final int[] enemyX;
+    final int[] enemyY;
+    final int[] trapX;
+    final int[] trapY;
+
+    Level(long seed, int width, int height, GameDifficulty difficulty, long[] walls,
+          int playerX, int playerY, int treasureX, int treasureY,
+          int[] enemyX, int[] enemyY, int[] trapX, int[] trapY) {
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
+        this.difficulty = difficulty;
+        this.walls = walls;
+        this.playerX = playerX;
+        this.playerY = playerY;
+        this.treasureX = treasureX;
+        this.treasureY = treasureY;
+        this.enemyX = enemyX;
+        this.enemyY = enemyY;
+        this.trapX = trapX;
+        this.trapY = trapY;
+    }
+
+    public boolean isWall(int x, int y) {
+        int bit = y * width + x;
+        return (walls[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    public int getEnemyCount() { return enemyX.length; }
+    public int getTrapCount() { return trapX.length; }
+}
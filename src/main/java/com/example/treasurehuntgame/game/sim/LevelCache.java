@@ -0,0 +1,81 @@
+package com.example.treasurehuntgame.game.sim;
+
+import com.example.treasurehuntgame.game.core.GameDifficulty;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+// LRU cache of generated levels keyed by (seed, size, difficulty), so replaying a level skips generation
+public class LevelCache {
+    public static final int DEFAULT_MAX_ENTRIES = 32;
+
+    private final LevelGenerator generator;
+    private final Map<Key, Level> levels;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public LevelCache() {
+        this(new LevelGenerator(), DEFAULT_MAX_ENTRIES);
+    }
+
+    public LevelCache(LevelGenerator generator, int maxEntries) {
+        this.generator = generator;
+        this.levels = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Level> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public Level getLevel(long seed, int width, int height, GameDifficulty difficulty) {
+        Key key = new Key(seed, width, height, difficulty);
+        synchronized (this) {
+            Level level = levels.get(key);
+            if (level != null) {
+                hits.increment();
+                return level;
+            }
+        }
+        misses.increment();
+        // Generate outside the lock; two racing misses just produce the same level twice
+        Level level = generator.generate(seed, width, height, difficulty);
+        synchronized (this) {
+            levels.put(key, level);
+        }
+        return level;
+    }
+
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+
+    private static final class Key {
+        final long seed;
+        final int width;
+        final int height;
+        final GameDifficulty difficulty;
+
+        Key(long seed, int width, int height, GameDifficulty difficulty) {
+            this.seed = seed;
+            this.width = width;
+            this.height = height;
+            this.difficulty = difficulty;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return seed == other.seed && width == other.width && height == other.height && difficulty == other.difficulty;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(seed, width, height, difficulty);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.treasurehuntgame.game.sim;
+
+import com.example.treasurehuntgame.game.core.GameDifficulty;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Seeded random levels of any size. The player starts top-left and the treasure sits bottom-right;
+// walls are scattered at the difficulty's density and re-rolled until a flood fill from the player
+// reaches the treasure, with a carved corridor as the last resort. Enemies and traps go on reachable
+// cells away from the start. The same (seed, size, difficulty) always yields the same level.
+public class LevelGenerator {
+    private static final int MAX_ATTEMPTS = 16;
+    // Keeps enemies and traps off the cells right around the player's start
+    private static final int SAFE_RADIUS = 3;
+
+    public Level generate(long seed, int width, int height, GameDifficulty difficulty) {
+        if (width < 2 || height < 2) {
+            throw new IllegalArgumentException("Level must be at least 2x2, got " + width + "x" + height);
+        }
+        SplittableRandom random = new SplittableRandom(mix(seed, width, height, difficulty));
+        int cells = width * height;
+        long[] walls = new long[(cells + 63) >>> 6];
+        int[] queue = new int[cells];
+        boolean[] reached = new boolean[cells];
+        int start = 0;
+        int goal = cells - 1;
+
+        int reachable = 0;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            scatterWalls(walls, cells, difficulty.wallDensity, random, start, goal);
+            reachable = floodFill(walls, width, height, start, queue, reached);
+            if (reached[goal]) {
+                break;
+            }
+        }
+        if (!reached[goal]) {
+            // Clear a corridor along the top row and down the right column
+            for (int x = 0; x < width; x++) {
+                clear(walls, x);
+            }
+            for (int y = 0; y < height; y++) {
+                clear(walls, y * width + width - 1);
+            }
+            reachable = floodFill(walls, width, height, start, queue, reached);
+        }
+
+        // Candidate cells: reachable, not the goal and outside the safe radius of the start
+        int candidates = 0;
+        for (int i = 0; i < reachable; i++) {
+            int cell = queue[i];
+            if (cell != goal && cell % width + cell / width > SAFE_RADIUS) {
+                queue[candidates++] = cell;
+            }
+        }
+        int enemies = Math.min(candidates, Math.max(1, (int) Math.round(cells * difficulty.enemyDensity)));
+        int traps = Math.min(candidates - enemies, Math.max(1, (int) Math.round(cells * difficulty.trapDensity)));
+
+        // Partial Fisher-Yates: the first enemies + traps candidates become a random distinct sample
+        for (int i = 0; i < enemies + traps; i++) {
+            int j = i + random.nextInt(candidates - i);
+            int swap = queue[i];
+            queue[i] = queue[j];
+            queue[j] = swap;
+        }
+
+        int[] enemyX = new int[enemies];
+        int[] enemyY = new int[enemies];
+        for (int i = 0; i < enemies; i++) {
+            enemyX[i] = queue[i] % width;
+            enemyY[i] = queue[i] / width;
+        }
+        int[] trapX = new int[traps];
+        int[] trapY = new int[traps];
+        for (int i = 0; i < traps; i++) {
+            trapX[i] = queue[enemies + i] % width;
+            trapY[i] = queue[enemies + i] / width;
+        }
+
+        return new Level(seed, width, height, difficulty, walls, 0, 0, width - 1, height - 1,
+                enemyX, enemyY, trapX, trapY);
+    }
+
+    private static void scatterWalls(long[] walls, int cells, double density, SplittableRandom random, int start, int goal) {
+        Arrays.fill(walls, 0L);
+        for (int cell = 0; cell < cells; cell++) {
+            if (cell != start && cell != goal && random.nextDouble() < density) {
+                walls[cell >>> 6] |= 1L << cell;
+            }
+        }
+    }
+
+    // Breadth-first fill from start; returns how many cells were reached, listed in queue in visit order
+    private static int floodFill(long[] walls, int width, int height, int start, int[] queue, boolean[] reached) {
+        Arrays.fill(reached, false);
+        int head = 0;
+        int tail = 0;
+        reached[start] = true;
+        queue[tail++] = start;
+        while (head < tail) {
+            int cell = queue[head++];
+            int x = cell % width;
+            int y = cell / width;
+            if (x > 0) tail = visit(walls, cell - 1, queue, reached, tail);
+            if (x < width - 1) tail = visit(walls, cell + 1, queue, reached, tail);
+            if (y > 0) tail = visit(walls, cell - width, queue, reached, tail);
+            if (y < height - 1) tail = visit(walls, cell + width, queue, reached, tail);
+        }
+        return tail;
+    }
+
+    private static int visit(long[] walls, int cell, int[] queue, boolean[] reached, int tail) {
+        if (!reached[cell] && (walls[cell >>> 6] & (1L << cell)) == 0) {
+            reached[cell] = true;
+            queue[tail++] = cell;
+        }
+        return tail;
+    }
+
+    private static void clear(long[] walls, int cell) {
+        walls[cell >>> 6] &= ~(1L << cell);
+    }
+
+    private static long mix(long seed, int width, int height, GameDifficulty difficulty) {
+        return seed ^ (width * 0x9E3779B97F4A7C15L) ^ (height * 0xC2B2AE3D27D4EB4FL) ^ ((difficulty.ordinal() + 1) * 0x165667B19E3779F9L);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.treasurehuntgame.game.sim;
+
+import java.util.Arrays;
+
+// Row-major per-cell buckets answering "what is at (x, y)" in O(1).
+// Enemies are counted per cell since several may share one; each cell holds at most one trap.
+public class OccupancyIndex {
+    private final int width;
+    private final int height;
+    private final int[] enemyCounts;
+    private final int[] trapSlots;
+
+    public OccupancyIndex(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.enemyCounts = new int[width * height];
+        this.trapSlots = new int[width * height];
+    }
+
+    public void clear() {
+        Arrays.fill(enemyCounts, 0);
+        Arrays.fill(trapSlots, 0);
+    }
+
+    public void addEnemy(int x, int y) {
+        enemyCounts[cell(x, y)]++;
+    }
+
+    public void moveEnemy(int fromX, int fromY, int toX, int toY) {
+        enemyCounts[cell(fromX, fromY)]--;
+        enemyCounts[cell(toX, toY)]++;
+    }
+
+    public int getEnemyCount(int x, int y) {
+        return inBounds(x, y) ? enemyCounts[cell(x, y)] : 0;
+    }
+
+    public void setTrap(int x, int y, int trapIndex) {
+        trapSlots[cell(x, y)] = trapIndex + 1;
+    }
+
+    // Returns the index of the trap on the cell, or -1 if there is none
+    public int getTrapIndex(int x, int y) {
+        return inBounds(x, y) ? trapSlots[cell(x, y)] - 1 : -1;
+    }
+
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    private int cell(int x, int y) {
+        return y * width + x;
+    }
+}
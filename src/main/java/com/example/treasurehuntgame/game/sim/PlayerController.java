@@ -0,0 +1,6 @@
+package com.example.treasurehuntgame.game.sim;
+
+// Decides the player's command for a tick; null means stand still
+public interface PlayerController {
+    Direction nextMove(GameSimulation simulation);
+}
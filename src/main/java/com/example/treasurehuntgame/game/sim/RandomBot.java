@@ -0,0 +1,28 @@
+package com.example.treasurehuntgame.game.sim;
+
+import java.util.SplittableRandom;
+
+// Presses a random arrow key on a fraction of ticks; seeded so a batch run can be reproduced
+public class RandomBot implements PlayerController {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final SplittableRandom random;
+    private final double moveChance;
+
+    public RandomBot(long seed) {
+        this(seed, 0.25);
+    }
+
+    public RandomBot(long seed, double moveChance) {
+        this.random = new SplittableRandom(seed);
+        this.moveChance = moveChance;
+    }
+
+    @Override
+    public Direction nextMove(GameSimulation simulation) {
+        if (random.nextDouble() >= moveChance) {
+            return null;
+        }
+        return DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.treasurehuntgame.game.sim;
+
+import com.example.treasurehuntgame.game.core.GameDifficulty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// A recording read back from the format written by ReplayRecorder
+public final class Replay {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    public final GameDifficulty difficulty;
+    public final boolean generatedLevel;
+    public final long levelSeed;
+    public final int width;
+    public final int height;
+    public final long finalTick;
+    // Recorded outcome: a GameEvent end reason, or null if the game was still running when recording stopped
+    public final GameEvent outcome;
+    public final int livesLeft;
+    private final long[] ticks;
+    private final Direction[] commands;
+    private final int commandCount;
+
+    private Replay(GameDifficulty difficulty, boolean generatedLevel, long levelSeed, int width, int height,
+                   long finalTick, GameEvent outcome, int livesLeft, long[] ticks, Direction[] commands, int commandCount) {
+        this.difficulty = difficulty;
+        this.generatedLevel = generatedLevel;
+        this.levelSeed = levelSeed;
+        this.width = width;
+        this.height = height;
+        this.finalTick = finalTick;
+        this.outcome = outcome;
+        this.livesLeft = livesLeft;
+        this.ticks = ticks;
+        this.commands = commands;
+        this.commandCount = commandCount;
+    }
+
+    public static Replay read(Path file) throws IOException {
+        return read(ByteBuffer.wrap(Files.readAllBytes(file)));
+    }
+
+    public static Replay read(ByteBuffer buffer) {
+        if (buffer.getInt() != ReplayRecorder.MAGIC) {
+            throw new IllegalArgumentException("Not a replay file");
+        }
+        byte version = buffer.get();
+        if (version != ReplayRecorder.VERSION) {
+            throw new IllegalArgumentException("Unsupported replay version " + version);
+        }
+        GameDifficulty difficulty = GameDifficulty.values()[buffer.get()];
+        boolean generatedLevel = buffer.get() != 0;
+        long levelSeed = buffer.getLong();
+        int width = (int) Varint.getUnsigned(buffer);
+        int height = (int) Varint.getUnsigned(buffer);
+
+        long[] ticks = new long[64];
+        Direction[] commands = new Direction[64];
+        int count = 0;
+        long tick = 0;
+        // A recording cut short (crash, closed window) has no end entry; replay what is there
+        long finalTick = -1;
+        GameEvent outcome = null;
+        int livesLeft = 0;
+        while (buffer.hasRemaining()) {
+            long entry = Varint.getUnsigned(buffer);
+            tick += entry >>> 3;
+            int code = (int) (entry & 7);
+            if (code == ReplayRecorder.END) {
+                finalTick = tick;
+                byte reason = buffer.get();
+                outcome = reason == ReplayRecorder.NO_OUTCOME ? null : GameEvent.values()[reason];
+                livesLeft = buffer.get();
+                break;
+            }
+            if (count == ticks.length) {
+                ticks = Arrays.copyOf(ticks, count * 2);
+                commands = Arrays.copyOf(commands, count * 2);
+            }
+            ticks[count] = tick;
+            commands[count] = DIRECTIONS[code];
+            count++;
+        }
+        if (finalTick < 0) {
+            finalTick = tick;
+        }
+        return new Replay(difficulty, generatedLevel, levelSeed, width, height, finalTick, outcome, livesLeft,
+                ticks, commands, count);
+    }
+
+    public int getCommandCount() { return commandCount; }
+    public long getCommandTick(int index) { return ticks[index]; }
+    public Direction getCommand(int index) { return commands[index]; }
+}
@@ -0,0 +1,67 @@
+package com.example.treasurehuntgame.game.sim;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Re-simulates a recorded game as fast as the CPU allows. The simulation is deterministic, so feeding
+// the same commands at the same ticks into the same level must reproduce the recorded outcome;
+// a mismatch means the recording was tampered with or the rules changed.
+//   java ... ReplayPlayer <replay file>...
+public class ReplayPlayer {
+    private final LevelCache levelCache;
+
+    public ReplayPlayer() {
+        this(new LevelCache());
+    }
+
+    public ReplayPlayer(LevelCache levelCache) {
+        this.levelCache = levelCache;
+    }
+
+    public static void main(String[] args) throws IOException {
+        ReplayPlayer player = new ReplayPlayer();
+        for (String arg : args) {
+            Replay replay = Replay.read(Path.of(arg));
+            long start = System.nanoTime();
+            GameSimulation simulation = player.play(replay, null);
+            long nanos = System.nanoTime() - start;
+            double speedup = simulation.getElapsedMillis() * 1_000_000.0 / Math.max(1, nanos);
+            System.out.printf("%s: %s, %d commands over %d ticks, outcome %s (recorded %s), %s, %.0fx real time%n",
+                    arg, replay.difficulty, replay.getCommandCount(), simulation.getTick(), simulation.getEndReason(),
+                    replay.outcome, player.matches(replay, simulation) ? "verified" : "MISMATCH", speedup);
+        }
+    }
+
+    // Listener may be null; otherwise it sees every event of the re-simulated game
+    public GameSimulation play(Replay replay, GameEventListener listener) {
+        GameBoard board = new GameBoard(replay.difficulty, replay.width, replay.height);
+        if (replay.generatedLevel) {
+            board.loadLevel(levelCache.getLevel(replay.levelSeed, replay.width, replay.height, replay.difficulty));
+        } else {
+            board.initializeGame();
+        }
+        GameSimulation simulation = new GameSimulation(board);
+        if (listener != null) {
+            simulation.addListener(listener);
+        }
+
+        int next = 0;
+        while (simulation.getStatus() == GameSimulation.Status.RUNNING) {
+            // Commands recorded at tick t were applied before the step that produced tick t + 1
+            while (next < replay.getCommandCount() && replay.getCommandTick(next) == simulation.getTick()) {
+                simulation.apply(replay.getCommand(next++));
+            }
+            if (simulation.getStatus() != GameSimulation.Status.RUNNING || simulation.getTick() >= replay.finalTick) {
+                break;
+            }
+            simulation.step();
+        }
+        return simulation;
+    }
+
+    public boolean matches(Replay replay, GameSimulation simulation) {
+        return simulation.getEndReason() == replay.outcome
+                && simulation.getTick() == replay.finalTick
+                && Math.max(0, simulation.getLives()) == replay.livesLeft;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.treasurehuntgame.game.sim;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Streams a game's inputs to disk as it is played. Layout:
+//   int magic, byte version, byte difficulty, byte generated level?, long level seed, varint width, varint height
+//   then one varint per command: (ticks since the previous command << 3) | direction ordinal
+//   then an end entry with code END holding the final tick, followed by byte outcome and byte lives left.
+// The level plus the commands are enough for ReplayPlayer to re-simulate the game exactly.
+public class ReplayRecorder implements AutoCloseable {
+    public static final int MAGIC = 0x54485250;
+    public static final byte VERSION = 1;
+    public static final int END = 4;
+    public static final byte NO_OUTCOME = (byte) 0xFF;
+    public static final String DIRECTORY_PROPERTY = "treasurehunt.replayDir";
+    private static final int BUFFER_BYTES = 4096;
+    private static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private long lastTick;
+    private boolean finished;
+
+    // generatedLevel says whether the board was loaded from LevelGenerator output (replayed from the seed)
+    // or set up by initializeGame() (replayed from the built-in layout); any seed, including 0, is valid
+    public ReplayRecorder(Path file, GameBoard board, boolean generatedLevel) throws IOException {
+        this.file = file;
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(MAGIC)
+                .put(VERSION)
+                .put((byte) board.getDifficulty().ordinal())
+                .put((byte) (generatedLevel ? 1 : 0))
+                .putLong(board.getLevelSeed());
+        Varint.putUnsigned(buffer, board.getGridWidth());
+        Varint.putUnsigned(buffer, board.getGridHeight());
+    }
+
+    // Records to a temporary file in getDirectory(); returns null, with recording disabled, if it cannot be created
+    public static ReplayRecorder startTemporary(GameBoard board, boolean generatedLevel) {
+        try {
+            Path file = getDirectory().resolve("recording-" + System.nanoTime() + ".tmp");
+            return new ReplayRecorder(file, board, generatedLevel);
+        } catch (IOException e) {
+            System.err.println("Replay recording disabled: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public static Path getDirectory() {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        return directory != null
+                ? Path.of(directory)
+                : Path.of(System.getProperty("user.home"), ".treasurehunt", "replays");
+    }
+
+    // Replays are named after the history record they belong to: player and time played
+    public static Path fileFor(String username, LocalDateTime playedAt) {
+        String safeName = username.replaceAll("[^A-Za-z0-9_-]", "_");
+        return getDirectory().resolve(safeName + "-" + playedAt.format(FILE_TIME_FORMAT) + ".thr");
+    }
+
+    public void record(long tick, Direction direction) throws IOException {
+        put(tick, direction.ordinal());
+    }
+
+    public void finish(GameSimulation simulation) throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        put(simulation.getTick(), END);
+        GameEvent reason = simulation.getEndReason();
+        buffer.put(reason == null ? NO_OUTCOME : (byte) reason.ordinal());
+        buffer.put((byte) Math.max(0, simulation.getLives()));
+        close();
+    }
+
+    // Moves the finished recording to its permanent name, replacing any file already there
+    public Path moveTo(Path target) throws IOException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        return Files.move(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void put(long tick, int code) throws IOException {
+        if (buffer.remaining() < Varint.MAX_BYTES + 2) {
+            flush();
+        }
+        Varint.putUnsigned(buffer, ((tick - lastTick) << 3) | code);
+        lastTick = tick;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            flush();
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.treasurehuntgame.game.sim;
+
+import com.example.treasurehuntgame.game.ai.DistanceField;
+
+// Walks a shortest path to the treasure, one step every movePeriod ticks, but waits rather than
+// step onto an untriggered trap or an enemy.
+public class SeekerBot implements PlayerController {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final DistanceField toTreasure = new DistanceField();
+    private final int movePeriod;
+
+    public SeekerBot() {
+        this(4);
+    }
+
+    public SeekerBot(int movePeriod) {
+        this.movePeriod = movePeriod;
+    }
+
+    @Override
+    public Direction nextMove(GameSimulation simulation) {
+        if (simulation.getTick() % movePeriod != 0) {
+            return null;
+        }
+        GameBoard board = simulation.getBoard();
+        toTreasure.update(board, board.getTreasureX(), board.getTreasureY());
+
+        int x = board.getPlayerX();
+        int y = board.getPlayerY();
+        Direction best = null;
+        int bestDistance = toTreasure.get(x, y);
+        for (Direction direction : DIRECTIONS) {
+            int nx = x + direction.dx;
+            int ny = y + direction.dy;
+            int distance = toTreasure.get(nx, ny);
+            if (distance < bestDistance && isSafe(board, nx, ny)) {
+                best = direction;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isSafe(GameBoard board, int x, int y) {
+        int trap = board.getTrapAt(x, y);
+        return board.getEnemyCountAt(x, y) == 0 && (trap < 0 || board.isTrapTriggered(trap));
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.treasurehuntgame.game.sim;
+
+import com.example.treasurehuntgame.game.core.GameDifficulty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+// Plays many independent headless games at once, one worker per core. Each game gets its own
+// board, simulation and controller, so nothing is shared between threads except the counters.
+// Game i plays the generated level for levelSeed(difficulty, i), the same kind of level a player gets.
+public class SimulationHarness {
+    private final int threads;
+    private final LevelGenerator levelGenerator = new LevelGenerator();
+
+    public SimulationHarness() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public SimulationHarness(int threads) {
+        this.threads = threads;
+    }
+
+    public interface GameListener {
+        void onGameFinished(int gameIndex, GameSimulation simulation);
+    }
+
+    // Distinct per difficulty and game, so a recorded result can be replayed on its level
+    public static long levelSeed(GameDifficulty difficulty, int game) {
+        return difficulty.ordinal() * 1_000_003L + game;
+    }
+
+    public Summary run(int games, GameDifficulty difficulty, IntFunction<PlayerController> controllers, long maxTicks) {
+        return run(games, difficulty, controllers, maxTicks, (gameIndex, simulation) -> { });
+    }
+
+    // The controller for game i comes from controllers.apply(i) and is asked for a move every tick;
+    // games still running after maxTicks count as unfinished. The listener is called on worker threads.
+    public Summary run(int games, GameDifficulty difficulty, IntFunction<PlayerController> controllers, long maxTicks,
+                       GameListener listener) {
+        Summary summary = new Summary();
+        AtomicInteger next = new AtomicInteger();
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    int game;
+                    while ((game = next.getAndIncrement()) < games) {
+                        GameBoard board = new GameBoard(difficulty);
+                        board.loadLevel(levelGenerator.generate(levelSeed(difficulty, game),
+                                difficulty.gridSize, difficulty.gridSize, difficulty));
+                        GameSimulation simulation = new GameSimulation(board);
+                        play(simulation, controllers.apply(game), maxTicks);
+                        summary.record(simulation);
+                        listener.onGameFinished(game, simulation);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        summary.elapsedNanos = System.nanoTime() - start;
+        return summary;
+    }
+
+    public static void play(GameSimulation simulation, PlayerController controller, long maxTicks) {
+        while (simulation.getStatus() == GameSimulation.Status.RUNNING && simulation.getTick() < maxTicks) {
+            Direction move = controller.nextMove(simulation);
+            if (move != null) {
+                simulation.apply(move);
+            }
+            simulation.step();
+        }
+    }
+
+    public static final class Summary {
+        private final LongAdder wins = new LongAdder();
+        private final LongAdder losses = new LongAdder();
+        private final LongAdder unfinished = new LongAdder();
+        private final LongAdder ticks = new LongAdder();
+        private long elapsedNanos;
+
+        void record(GameSimulation simulation) {
+            switch (simulation.getStatus()) {
+                case WON:
+                    wins.increment();
+                    break;
+                case LOST:
+                    losses.increment();
+                    break;
+                default:
+                    unfinished.increment();
+                    break;
+            }
+            ticks.add(simulation.getTick());
+        }
+
+        public long getWins() { return wins.sum(); }
+        public long getLosses() { return losses.sum(); }
+        public long getUnfinished() { return unfinished.sum(); }
+        public long getTotalTicks() { return ticks.sum(); }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        public double getGamesPerSecond() {
+            long games = wins.sum() + losses.sum() + unfinished.sum();
+            return elapsedNanos == 0 ? 0 : games * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+}
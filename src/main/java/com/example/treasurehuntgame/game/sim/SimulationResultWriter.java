@@ -0,0 +1,60 @@
+package com.example.treasurehuntgame.game.sim;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Fixed 16-byte records, one per finished game, after a 5-byte header:
+// [difficulty][outcome][lives left][bot][int ticks][long level seed]. Outcome is a GameEvent ordinal,
+// or 0xFF if unfinished.
+public class SimulationResultWriter implements AutoCloseable {
+    public static final int MAGIC = 0x54485352;
+    public static final byte VERSION = 2;
+    public static final int RECORD_BYTES = 16;
+    public static final byte UNFINISHED = (byte) 0xFF;
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private long recordCount;
+
+    public SimulationResultWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(MAGIC).put(VERSION);
+    }
+
+    public synchronized void write(GameSimulation simulation, int bot) throws IOException {
+        if (buffer.remaining() < RECORD_BYTES) {
+            flush();
+        }
+        GameEvent reason = simulation.getEndReason();
+        buffer.put((byte) simulation.getDifficulty().ordinal())
+                .put(reason == null ? UNFINISHED : (byte) reason.ordinal())
+                .put((byte) Math.max(0, simulation.getLives()))
+                .put((byte) bot)
+                .putInt((int) simulation.getTick())
+                .putLong(simulation.getBoard().getLevelSeed());
+        recordCount++;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        channel.close();
+    }
+}
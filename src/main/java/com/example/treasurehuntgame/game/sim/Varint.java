@@ -0,0 +1,41 @@
+package com.example.treasurehuntgame.game.sim;
+
+import java.nio.ByteBuffer;
+
+// LEB128 variable-length integers: 7 bits per byte, high bit set on every byte but the last.
+// Signed values go through zig-zag encoding so small negative deltas stay short too.
+public final class Varint {
+    public static final int MAX_BYTES = 10;
+
+    private Varint() {
+    }
+
+    public static void putUnsigned(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static long getUnsigned(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    public static void putSigned(ByteBuffer buffer, long value) {
+        putUnsigned(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    public static long getSigned(ByteBuffer buffer) {
+        long raw = getUnsigned(buffer);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.treasurehuntgame.game.ui;
+
+import com.example.treasurehuntgame.game.sim.GameBoard;
+
+// Fixed-size window onto the board. The view scrolls in whole cells, keeping the player at least
+// FOLLOW_MARGIN cells from each edge where the board allows, and zooms through CELL_SIZES.
+// A board smaller than the viewport is centred in it. Any change bumps getVersion(), which tells
+// the renderer to repaint the whole viewport.
+public class Camera {
+    public static final int DEFAULT_MAX_VIEWPORT = 800;
+    public static final int[] CELL_SIZES = {16, 24, 32, 40, 56, 80};
+    private static final int FOLLOW_MARGIN = 3;
+
+    private final GameBoard gameBoard;
+    private final int viewportWidth;
+    private final int viewportHeight;
+    private int zoom;
+    private int originX;
+    private int originY;
+    private int version;
+
+    public Camera(GameBoard gameBoard, int viewportWidth, int viewportHeight) {
+        this.gameBoard = gameBoard;
+        this.viewportWidth = viewportWidth;
+        this.viewportHeight = viewportHeight;
+        this.zoom = zoomFor(gameBoard.getCellSize());
+        scrollTo(gameBoard.getPlayerX(), gameBoard.getPlayerY());
+    }
+
+    // A viewport as large as the board at its normal cell size, up to the given maximum
+    public static Camera fitting(GameBoard gameBoard, int maxWidth, int maxHeight) {
+        long width = (long) gameBoard.getGridWidth() * gameBoard.getCellSize();
+        long height = (long) gameBoard.getGridHeight() * gameBoard.getCellSize();
+        return new Camera(gameBoard, (int) Math.min(width, maxWidth), (int) Math.min(height, maxHeight));
+    }
+
+    // Scrolls so the given cell stays inside the follow margin; returns true if the view moved
+    public boolean follow(int x, int y) {
+        return scrollTo(x, y);
+    }
+
+    // Shared by the constructor and setZoom, which must not call the overridable follow()
+    private boolean scrollTo(int x, int y) {
+        int newX = scroll(originX, x, getFullColumns(), gameBoard.getGridWidth());
+        int newY = scroll(originY, y, getFullRows(), gameBoard.getGridHeight());
+        if (newX == originX && newY == originY) {
+            return false;
+        }
+        originX = newX;
+        originY = newY;
+        version++;
+        return true;
+    }
+
+    private static int scroll(int origin, int target, int visible, int boardSize) {
+        int margin = Math.min(FOLLOW_MARGIN, (visible - 1) / 2);
+        if (target < origin + margin) {
+            origin = target - margin;
+        } else if (target > origin + visible - 1 - margin) {
+            origin = target - visible + 1 + margin;
+        }
+        return Math.max(0, Math.min(origin, boardSize - visible));
+    }
+
+    public void zoomIn() {
+        setZoom(zoom + 1);
+    }
+
+    public void zoomOut() {
+        setZoom(zoom - 1);
+    }
+
+    private void setZoom(int level) {
+        level = Math.max(0, Math.min(CELL_SIZES.length - 1, level));
+        if (level == zoom) {
+            return;
+        }
+        zoom = level;
+        version++;
+        // Re-clamp to the new number of visible cells, keeping the player in view
+        originX = Math.max(0, Math.min(originX, gameBoard.getGridWidth() - getFullColumns()));
+        originY = Math.max(0, Math.min(originY, gameBoard.getGridHeight() - getFullRows()));
+        scrollTo(gameBoard.getPlayerX(), gameBoard.getPlayerY());
+    }
+
+    private static int zoomFor(int cellSize) {
+        int best = 0;
+        for (int i = 0; i < CELL_SIZES.length; i++) {
+            if (Math.abs(CELL_SIZES[i] - cellSize) < Math.abs(CELL_SIZES[best] - cellSize)) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    // Cells wholly inside the viewport, capped at the board size
+    private int getFullColumns() {
+        return Math.max(1, Math.min(gameBoard.getGridWidth(), viewportWidth / getCellSize()));
+    }
+
+    private int getFullRows() {
+        return Math.max(1, Math.min(gameBoard.getGridHeight(), viewportHeight / getCellSize()));
+    }
+
+    // Cells at least partly visible, including a clipped column or row at the far edge
+    public int getColumns() {
+        return Math.min(gameBoard.getGridWidth() - originX, (viewportWidth + getCellSize() - 1) / getCellSize());
+    }
+
+    public int getRows() {
+        return Math.min(gameBoard.getGridHeight() - originY, (viewportHeight + getCellSize() - 1) / getCellSize());
+    }
+
+    public boolean isVisible(int x, int y) {
+        return x >= originX && y >= originY && x < originX + getColumns() && y < originY + getRows();
+    }
+
+    // Screen position of a board coordinate; fractional coordinates are used for moving enemies
+    public double toScreenX(double x) {
+        return getOffsetX() + (x - originX) * getCellSize();
+    }
+
+    public double toScreenY(double y) {
+        return getOffsetY() + (y - originY) * getCellSize();
+    }
+
+    private int getOffsetX() {
+        return Math.max(0, (viewportWidth - gameBoard.getGridWidth() * getCellSize()) / 2);
+    }
+
+    private int getOffsetY() {
+        return Math.max(0, (viewportHeight - gameBoard.getGridHeight() * getCellSize()) / 2);
+    }
+
+    public int getCellSize() { return CELL_SIZES[zoom]; }
+    public int getOriginX() { return originX; }
+    public int getOriginY() { return originY; }
+    public int getViewportWidth() { return viewportWidth; }
+    public int getViewportHeight() { return viewportHeight; }
+    public int getVersion() { return version; }
+}
@@ -1,104 +1,424 @@
-
 package com.example.treasurehuntgame.game.ui;
 
-import com.example.treasurehuntgame.game.entities.Enemy;
-import com.example.treasurehuntgame.game.entities.Player;
-import com.example.treasurehuntgame.game.entities.Trap;
-import com.example.treasurehuntgame.game.entities.Treasure;
+import com.example.treasurehuntgame.game.sim.GameBoard;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.CycleMethod;
 import javafx.scene.paint.LinearGradient;
 import javafx.scene.paint.Stop;
 
+// Repaints only the cells whose contents changed since the previous frame, and nothing at all
+// when the board is unchanged. The first frame, or one after invalidate(), repaints everything.
+// Background, grid and walls are rasterized once into staticLayer and copied back per cell,
+// so only entities are drawn with individual calls. Enemies are drawn between their previous
+// and current tick positions, so a moving enemy dirties every cell it overlaps.
+// Only the camera's viewport is ever drawn, so the cost of a frame follows the window size, not
+// the board size. The static layer covers the viewport plus LAYER_MARGIN of it on each side; a
+// scroll just copies a different region of it, and it is rasterized again only when the view
+// leaves it, the zoom changes or the walls change.
 public class GameRenderer {
+    private static final int LAYER_MARGIN_DIVISOR = 4;
+    private static final int MIN_LAYER_MARGIN = 4;
+    private static final Color BACKGROUND = Color.web("#1c2526");
+
     private final GameBoard gameBoard;
+    private final Camera camera;
     private GraphicsContext gc;
+    private WritableImage staticLayer;
+    private int staticLayerVersion = -1;
+    private int staticLayerCellSize = -1;
+    private int layerLeft;
+    private int layerTop;
+    private int layerColumns;
+    private int layerRows;
+    private int lastCameraVersion = -1;
+    private long layerRasterizations;
+
+    private boolean fullRepaint = true;
+    private boolean[] dirty;
+    private int[] dirtyCells;
+    private int dirtyCount;
+    private int lastPlayerX = -1;
+    private int lastPlayerY = -1;
+    private int lastTreasureX = -1;
+    private int lastTreasureY = -1;
+    private double[] lastEnemyX = new double[0];
+    private double[] lastEnemyY = new double[0];
+    private double alpha = 1.0;
+    private boolean[] lastTrapTriggered = new boolean[0];
 
+    private long lastFrameNanos;
+    private int lastCellsPainted;
+    private long framesRendered;
+    private long framesSkipped;
+    private long totalCellsPainted;
+
+    // Renders the whole board at its normal cell size, for a canvas as large as the board
     public GameRenderer(GameBoard gameBoard) {
+        this(gameBoard, Camera.fitting(gameBoard, Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+    public GameRenderer(GameBoard gameBoard, Camera camera) {
         this.gameBoard = gameBoard;
+        this.camera = camera;
     }
 
     public void setGraphicsContext(GraphicsContext gc) {
         this.gc = gc;
+        invalidate();
+    }
+
+    public void invalidate() {
+        fullRepaint = true;
     }
 
     public void render() {
+        render(alpha);
+    }
+
+    // alpha is the fraction of a simulation tick elapsed since the last step, from 0 to 1
+    public void render(double alpha) {
+        this.alpha = Math.min(1.0, Math.max(0.0, alpha));
         if (gc == null) {
             System.err.println("Error: GraphicsContext is not set!");
             return;
         }
 
-        gc.setFill(new LinearGradient(0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
-                new Stop(0, Color.SANDYBROWN), new Stop(1, Color.BURLYWOOD)));
-        gc.fillRect(0, 0, gameBoard.getGridWidth() * gameBoard.getCellSize(), gameBoard.getGridHeight() * gameBoard.getCellSize());
+        long start = System.nanoTime();
+        camera.follow(gameBoard.getPlayerX(), gameBoard.getPlayerY());
+        if (staticLayer == null || staticLayerVersion != gameBoard.getLayoutVersion()
+                || staticLayerCellSize != camera.getCellSize() || !layerCoversView()) {
+            rasterizeStaticLayer();
+            fullRepaint = true;
+        }
+        if (lastCameraVersion != camera.getVersion()) {
+            lastCameraVersion = camera.getVersion();
+            fullRepaint = true;
+        }
 
-        gc.setStroke(Color.BROWN);
-        gc.setLineWidth(0.5);
-        for (int x = 0; x <= gameBoard.getGridWidth(); x++) {
-            gc.strokeLine(x * gameBoard.getCellSize(), 0, x * gameBoard.getCellSize(), gameBoard.getGridHeight() * gameBoard.getCellSize());
+        int cellsPainted;
+        if (fullRepaint) {
+            cellsPainted = renderAll();
+            fullRepaint = false;
+        } else {
+            collectDirtyCells();
+            cellsPainted = dirtyCount;
+            paintDirtyCells();
         }
-        for (int y = 0; y <= gameBoard.getGridHeight(); y++) {
-            gc.strokeLine(0, y * gameBoard.getCellSize(), gameBoard.getGridWidth() * gameBoard.getCellSize(), y * gameBoard.getCellSize());
+        rememberState();
+
+        if (cellsPainted == 0) {
+            framesSkipped++;
+            lastCellsPainted = 0;
+            return;
         }
+        framesRendered++;
+        lastCellsPainted = cellsPainted;
+        totalCellsPainted += cellsPainted;
+        lastFrameNanos = System.nanoTime() - start;
+    }
+
+    private boolean layerCoversView() {
+        return camera.getOriginX() >= layerLeft && camera.getOriginY() >= layerTop
+                && camera.getOriginX() + camera.getColumns() <= layerLeft + layerColumns
+                && camera.getOriginY() + camera.getRows() <= layerTop + layerRows;
+    }
+
+    // Draws background, grid and walls for the visible cells and a margin around them, clamped to the board
+    private void rasterizeStaticLayer() {
+        int cellSize = camera.getCellSize();
+        int marginX = Math.max(MIN_LAYER_MARGIN, camera.getColumns() / LAYER_MARGIN_DIVISOR);
+        int marginY = Math.max(MIN_LAYER_MARGIN, camera.getRows() / LAYER_MARGIN_DIVISOR);
+        layerLeft = Math.max(0, camera.getOriginX() - marginX);
+        layerTop = Math.max(0, camera.getOriginY() - marginY);
+        layerColumns = Math.min(gameBoard.getGridWidth(), camera.getOriginX() + camera.getColumns() + marginX) - layerLeft;
+        layerRows = Math.min(gameBoard.getGridHeight(), camera.getOriginY() + camera.getRows() + marginY) - layerTop;
+        int width = layerColumns * cellSize;
+        int height = layerRows * cellSize;
+        Canvas canvas = new Canvas(width, height);
+        GraphicsContext layer = canvas.getGraphicsContext2D();
 
-        if (gameBoard.getWalls() != null) {
-            gc.setFill(Color.DARKSLATEGRAY);
-            for (int x = 0; x < gameBoard.getGridWidth(); x++) {
-                for (int y = 0; y < gameBoard.getGridHeight(); y++) {
-                    if (gameBoard.getWalls()[x][y]) {
-                        gc.fillRect(x * gameBoard.getCellSize() + 1, y * gameBoard.getCellSize() + 1,
-                                gameBoard.getCellSize() - 2, gameBoard.getCellSize() - 2);
-                        gc.setStroke(Color.BLACK);
-                        gc.strokeRect(x * gameBoard.getCellSize() + 1, y * gameBoard.getCellSize() + 1,
-                                gameBoard.getCellSize() - 2, gameBoard.getCellSize() - 2);
-                    }
+        // The gradient spans the whole board, so scrolling shows the part of it under the view
+        layer.setFill(new LinearGradient(0, layerY(0), 0, layerY(gameBoard.getGridHeight()), false,
+                CycleMethod.NO_CYCLE, new Stop(0, Color.SANDYBROWN), new Stop(1, Color.BURLYWOOD)));
+        layer.fillRect(0, 0, width, height);
+
+        layer.setStroke(Color.BROWN);
+        layer.setLineWidth(0.5);
+        for (int x = 0; x <= layerColumns; x++) {
+            layer.strokeLine(x * cellSize, 0, x * cellSize, height);
+        }
+        for (int y = 0; y <= layerRows; y++) {
+            layer.strokeLine(0, y * cellSize, width, y * cellSize);
+        }
+
+        for (int y = layerTop; y < layerTop + layerRows; y++) {
+            for (int x = layerLeft; x < layerLeft + layerColumns; x++) {
+                if (gameBoard.isWall(x, y)) {
+                    double px = layerX(x);
+                    double py = layerY(y);
+                    layer.setFill(Color.DARKSLATEGRAY);
+                    layer.fillRect(px + 1, py + 1, cellSize - 2, cellSize - 2);
+                    layer.setStroke(Color.BLACK);
+                    layer.strokeRect(px + 1, py + 1, cellSize - 2, cellSize - 2);
                 }
             }
         }
 
-        Treasure treasure = gameBoard.getTreasure();
-        if (treasure != null) {
-            gc.setFill(Color.GOLD);
-            gc.fillOval(treasure.x * gameBoard.getCellSize() + 2, treasure.y * gameBoard.getCellSize() + 2,
-                    gameBoard.getCellSize() - 4, gameBoard.getCellSize() - 4);
-            gc.setStroke(Color.DARKGOLDENROD);
-            gc.strokeOval(treasure.x * gameBoard.getCellSize() + 2, treasure.y * gameBoard.getCellSize() + 2,
-                    gameBoard.getCellSize() - 4, gameBoard.getCellSize() - 4);
-        }
-
-        if (gameBoard.getTraps() != null) {
-            gc.setFill(Color.CRIMSON);
-            for (Trap trap : gameBoard.getTraps()) {
-                if (!trap.triggered) {
-                    gc.fillRect(trap.x * gameBoard.getCellSize() + 4, trap.y * gameBoard.getCellSize() + 4,
-                            gameBoard.getCellSize() - 8, gameBoard.getCellSize() - 8);
-                    gc.setStroke(Color.DARKRED);
-                    gc.strokeRect(trap.x * gameBoard.getCellSize() + 4, trap.y * gameBoard.getCellSize() + 4,
-                            gameBoard.getCellSize() - 8, gameBoard.getCellSize() - 8);
+        staticLayer = canvas.snapshot(null, new WritableImage(width, height));
+        staticLayerVersion = gameBoard.getLayoutVersion();
+        staticLayerCellSize = cellSize;
+        layerRasterizations++;
+    }
+
+    // Position of a board cell within the static layer
+    private double layerX(int x) {
+        return (double) (x - layerLeft) * camera.getCellSize();
+    }
+
+    private double layerY(int y) {
+        return (double) (y - layerTop) * camera.getCellSize();
+    }
+
+    private int renderAll() {
+        int columns = camera.getColumns();
+        int rows = camera.getRows();
+        if (dirty == null || dirty.length != columns * rows) {
+            dirty = new boolean[columns * rows];
+            dirtyCells = new int[columns * rows];
+        }
+        dirtyCount = 0;
+
+        // Space around a board smaller than the viewport, then the visible part of the static layer
+        int cellSize = camera.getCellSize();
+        gc.setFill(BACKGROUND);
+        gc.fillRect(0, 0, camera.getViewportWidth(), camera.getViewportHeight());
+        gc.drawImage(staticLayer, layerX(camera.getOriginX()), layerY(camera.getOriginY()),
+                columns * cellSize, rows * cellSize,
+                camera.toScreenX(camera.getOriginX()), camera.toScreenY(camera.getOriginY()),
+                columns * cellSize, rows * cellSize);
+
+        // Traps are found through the occupancy index cell by cell, so only visible cells are visited
+        int left = camera.getOriginX();
+        int top = camera.getOriginY();
+        for (int y = top; y < top + rows; y++) {
+            for (int x = left; x < left + columns; x++) {
+                int trap = gameBoard.getTrapAt(x, y);
+                if (trap >= 0 && !gameBoard.isTrapTriggered(trap)) {
+                    drawTrap(x, y);
                 }
             }
         }
+        if (camera.isVisible(gameBoard.getTreasureX(), gameBoard.getTreasureY())) {
+            drawTreasure(gameBoard.getTreasureX(), gameBoard.getTreasureY());
+        }
+        for (int i = 0; i < gameBoard.getEnemyCount(); i++) {
+            double x = enemyDrawX(i);
+            double y = enemyDrawY(i);
+            if (isInView(x, y)) {
+                drawEnemy(x, y);
+            }
+        }
+        drawPlayer(gameBoard.getPlayerX(), gameBoard.getPlayerY());
+        return columns * rows;
+    }
+
+    private void collectDirtyCells() {
+        if (gameBoard.getPlayerX() != lastPlayerX || gameBoard.getPlayerY() != lastPlayerY) {
+            markDirty(lastPlayerX, lastPlayerY);
+            markDirty(gameBoard.getPlayerX(), gameBoard.getPlayerY());
+        }
+        if (gameBoard.getTreasureX() != lastTreasureX || gameBoard.getTreasureY() != lastTreasureY) {
+            markDirty(lastTreasureX, lastTreasureY);
+            markDirty(gameBoard.getTreasureX(), gameBoard.getTreasureY());
+        }
 
-        if (gameBoard.getEnemies() != null) {
-            gc.setFill(Color.DARKVIOLET);
-            for (Enemy enemy : gameBoard.getEnemies()) {
-                gc.fillOval(enemy.x * gameBoard.getCellSize() + 1, enemy.y * gameBoard.getCellSize() + 1,
-                        gameBoard.getCellSize() - 2, gameBoard.getCellSize() - 2);
-                gc.setStroke(Color.BLACK);
-                gc.strokeOval(enemy.x * gameBoard.getCellSize() + 1, enemy.y * gameBoard.getCellSize() + 1,
-                        gameBoard.getCellSize() - 2, gameBoard.getCellSize() - 2);
+        if (gameBoard.getEnemyCount() != lastEnemyX.length || gameBoard.getTrapCount() != lastTrapTriggered.length) {
+            markAllDirty();
+            return;
+        }
+        for (int i = 0; i < gameBoard.getEnemyCount(); i++) {
+            double x = enemyDrawX(i);
+            double y = enemyDrawY(i);
+            if (x != lastEnemyX[i] || y != lastEnemyY[i]) {
+                markCovered(lastEnemyX[i], lastEnemyY[i]);
+                markCovered(x, y);
             }
         }
+        for (int i = 0; i < gameBoard.getTrapCount(); i++) {
+            if (gameBoard.isTrapTriggered(i) != lastTrapTriggered[i]) {
+                markDirty(gameBoard.getTrapX(i), gameBoard.getTrapY(i));
+            }
+        }
+    }
 
-        Player player = gameBoard.getPlayer();
-        if (player != null) {
-            gc.setFill(Color.DODGERBLUE);
-            gc.fillOval(player.x * gameBoard.getCellSize() + 1, player.y * gameBoard.getCellSize() + 1,
-                    gameBoard.getCellSize() - 2, gameBoard.getCellSize() - 2);
-            gc.setStroke(Color.DARKBLUE);
-            gc.strokeOval(player.x * gameBoard.getCellSize() + 1, player.y * gameBoard.getCellSize() + 1,
-                    gameBoard.getCellSize() - 2, gameBoard.getCellSize() - 2);
+    // Cells outside the viewport are culled here, so nothing off screen is ever repainted
+    private void markDirty(int x, int y) {
+        if (!camera.isVisible(x, y)) {
+            return;
+        }
+        int cell = (y - camera.getOriginY()) * camera.getColumns() + (x - camera.getOriginX());
+        if (!dirty[cell]) {
+            dirty[cell] = true;
+            dirtyCells[dirtyCount++] = cell;
         }
     }
-}
\ No newline at end of file
+
+    // Marks every cell overlapped by an entity drawn at a possibly fractional cell position
+    private void markCovered(double x, double y) {
+        int left = (int) Math.floor(x);
+        int top = (int) Math.floor(y);
+        int right = (int) Math.ceil(x);
+        int bottom = (int) Math.ceil(y);
+        markDirty(left, top);
+        markDirty(right, top);
+        markDirty(left, bottom);
+        markDirty(right, bottom);
+    }
+
+    private boolean isCovered(double x, double y) {
+        return isDirty((int) Math.floor(x), (int) Math.floor(y)) || isDirty((int) Math.ceil(x), (int) Math.ceil(y));
+    }
+
+    private boolean isDirty(int x, int y) {
+        return camera.isVisible(x, y)
+                && dirty[(y - camera.getOriginY()) * camera.getColumns() + (x - camera.getOriginX())];
+    }
+
+    private boolean isInView(double x, double y) {
+        return camera.isVisible((int) Math.floor(x), (int) Math.floor(y))
+                || camera.isVisible((int) Math.ceil(x), (int) Math.ceil(y));
+    }
+
+    private double enemyDrawX(int index) {
+        int previous = gameBoard.getPreviousEnemyX(index);
+        return previous + (gameBoard.getEnemyX(index) - previous) * alpha;
+    }
+
+    private double enemyDrawY(int index) {
+        int previous = gameBoard.getPreviousEnemyY(index);
+        return previous + (gameBoard.getEnemyY(index) - previous) * alpha;
+    }
+
+    private void markAllDirty() {
+        int left = camera.getOriginX();
+        int top = camera.getOriginY();
+        for (int y = top; y < top + camera.getRows(); y++) {
+            for (int x = left; x < left + camera.getColumns(); x++) {
+                markDirty(x, y);
+            }
+        }
+    }
+
+    private void rememberState() {
+        lastPlayerX = gameBoard.getPlayerX();
+        lastPlayerY = gameBoard.getPlayerY();
+        lastTreasureX = gameBoard.getTreasureX();
+        lastTreasureY = gameBoard.getTreasureY();
+
+        int enemies = gameBoard.getEnemyCount();
+        if (lastEnemyX.length != enemies) {
+            lastEnemyX = new double[enemies];
+            lastEnemyY = new double[enemies];
+        }
+        for (int i = 0; i < enemies; i++) {
+            lastEnemyX[i] = enemyDrawX(i);
+            lastEnemyY[i] = enemyDrawY(i);
+        }
+
+        int traps = gameBoard.getTrapCount();
+        if (lastTrapTriggered.length != traps) {
+            lastTrapTriggered = new boolean[traps];
+        }
+        for (int i = 0; i < traps; i++) {
+            lastTrapTriggered[i] = gameBoard.isTrapTriggered(i);
+        }
+    }
+
+    // Restores each dirty cell from the static layer with its treasure and trap, then redraws
+    // the enemies and player overlapping any dirty cell on top
+    private void paintDirtyCells() {
+        int columns = camera.getColumns();
+        int cellSize = camera.getCellSize();
+        for (int i = 0; i < dirtyCount; i++) {
+            int x = camera.getOriginX() + dirtyCells[i] % columns;
+            int y = camera.getOriginY() + dirtyCells[i] / columns;
+            double px = camera.toScreenX(x);
+            double py = camera.toScreenY(y);
+            gc.drawImage(staticLayer, layerX(x), layerY(y), cellSize, cellSize, px, py, cellSize, cellSize);
+            if (gameBoard.getTreasureX() == x && gameBoard.getTreasureY() == y) {
+                drawTreasure(x, y);
+            }
+            int trap = gameBoard.getTrapAt(x, y);
+            if (trap >= 0 && !gameBoard.isTrapTriggered(trap)) {
+                drawTrap(x, y);
+            }
+        }
+
+        for (int i = 0; i < gameBoard.getEnemyCount(); i++) {
+            double x = enemyDrawX(i);
+            double y = enemyDrawY(i);
+            if (isCovered(x, y)) {
+                drawEnemy(x, y);
+            }
+        }
+        if (isDirty(gameBoard.getPlayerX(), gameBoard.getPlayerY())) {
+            drawPlayer(gameBoard.getPlayerX(), gameBoard.getPlayerY());
+        }
+
+        for (int i = 0; i < dirtyCount; i++) {
+            dirty[dirtyCells[i]] = false;
+        }
+        dirtyCount = 0;
+    }
+
+    private void drawTreasure(int x, int y) {
+        int cellSize = camera.getCellSize();
+        double px = camera.toScreenX(x);
+        double py = camera.toScreenY(y);
+        gc.setFill(Color.GOLD);
+        gc.fillOval(px + 2, py + 2, cellSize - 4, cellSize - 4);
+        gc.setStroke(Color.DARKGOLDENROD);
+        gc.strokeOval(px + 2, py + 2, cellSize - 4, cellSize - 4);
+    }
+
+    private void drawTrap(int x, int y) {
+        int cellSize = camera.getCellSize();
+        double px = camera.toScreenX(x);
+        double py = camera.toScreenY(y);
+        gc.setFill(Color.CRIMSON);
+        gc.fillRect(px + 4, py + 4, cellSize - 8, cellSize - 8);
+        gc.setStroke(Color.DARKRED);
+        gc.strokeRect(px + 4, py + 4, cellSize - 8, cellSize - 8);
+    }
+
+    private void drawEnemy(double x, double y) {
+        int cellSize = camera.getCellSize();
+        double px = camera.toScreenX(x);
+        double py = camera.toScreenY(y);
+        gc.setFill(Color.DARKVIOLET);
+        gc.fillOval(px + 1, py + 1, cellSize - 2, cellSize - 2);
+        gc.setStroke(Color.BLACK);
+        gc.strokeOval(px + 1, py + 1, cellSize - 2, cellSize - 2);
+    }
+
+    private void drawPlayer(int x, int y) {
+        int cellSize = camera.getCellSize();
+        double px = camera.toScreenX(x);
+        double py = camera.toScreenY(y);
+        gc.setFill(Color.DODGERBLUE);
+        gc.fillOval(px + 1, py + 1, cellSize - 2, cellSize - 2);
+        gc.setStroke(Color.DARKBLUE);
+        gc.strokeOval(px + 1, py + 1, cellSize - 2, cellSize - 2);
+    }
+
+    public Camera getCamera() { return camera; }
+    public long getLastFrameNanos() { return lastFrameNanos; }
+    public int getLastCellsPainted() { return lastCellsPainted; }
+    public long getFramesRendered() { return framesRendered; }
+    public long getFramesSkipped() { return framesSkipped; }
+    public long getTotalCellsPainted() { return totalCellsPainted; }
+    public long getLayerRasterizations() { return layerRasterizations; }
+}
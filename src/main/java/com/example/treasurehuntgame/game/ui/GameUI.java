@@ -3,18 +3,26 @@ package com.example.treasurehuntgame.game.ui;
 
 import com.example.treasurehuntgame.TreasureHuntGame;
 import com.example.treasurehuntgame.game.core.GameStateManager;
+import com.example.treasurehuntgame.game.sim.Direction;
+import com.example.treasurehuntgame.game.sim.GameBoard;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.Pane;
 import javafx.stage.Stage;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public class GameUI {
     private final TreasureHuntGame mainApp;
     private final GameBoard gameBoard;
     private final GameRenderer gameRenderer;
     private final GameStateManager gameStateManager;
     private Stage gameStage;
+    private MetricsOverlay metricsOverlay;
+    // Arrow keys currently down; a KEY_PRESSED for one of these is auto-repeat, not a new tap
+    private final Set<Direction> heldDirections = EnumSet.noneOf(Direction.class);
 
     public GameUI(TreasureHuntGame mainApp, GameBoard gameBoard, GameRenderer gameRenderer, GameStateManager gameStateManager) {
         this.mainApp = mainApp;
@@ -29,34 +37,75 @@ public class GameUI {
         gameStage.setResizable(false);
 
         Pane gamePane = new Pane();
-        Canvas canvas = new Canvas(gameBoard.getGridWidth() * gameBoard.getCellSize(), gameBoard.getGridHeight() * gameBoard.getCellSize());
-        gamePane.getChildren().add(canvas);
+        Camera camera = gameRenderer.getCamera();
+        Canvas canvas = new Canvas(camera.getViewportWidth(), camera.getViewportHeight());
+        metricsOverlay = new MetricsOverlay(mainApp.getMetrics());
+        gamePane.getChildren().addAll(canvas, metricsOverlay.getNode());
         gameRenderer.setGraphicsContext(canvas.getGraphicsContext2D());
 
-        Scene gameScene = new Scene(gamePane, gameBoard.getGridWidth() * gameBoard.getCellSize(), gameBoard.getGridHeight() * gameBoard.getCellSize());
+        Scene gameScene = new Scene(gamePane, camera.getViewportWidth(), camera.getViewportHeight());
         gameStage.setScene(gameScene);
+        gameScene.addPostLayoutPulseListener(mainApp.getMetrics()::recordPulse);
+        gameStage.setOnCloseRequest(event -> {
+            gameStateManager.suspend();
+            mainApp.returnToMainMenu();
+        });
 
         gameScene.setOnKeyPressed(event -> {
-            int newX = gameBoard.getPlayer().x;
-            int newY = gameBoard.getPlayer().y;
-            if (event.getCode() == KeyCode.UP) {
-                newY--;
-            } else if (event.getCode() == KeyCode.DOWN) {
-                newY++;
-            } else if (event.getCode() == KeyCode.LEFT) {
-                newX--;
-            } else if (event.getCode() == KeyCode.RIGHT) {
-                newX++;
+            if (event.getCode() == KeyCode.F3) {
+                metricsOverlay.toggle();
+                return;
+            }
+            if (event.getCode() == KeyCode.F4) {
+                metricsOverlay.export();
+                return;
+            }
+            if (event.getCode() == KeyCode.EQUALS || event.getCode() == KeyCode.PLUS || event.getCode() == KeyCode.ADD) {
+                camera.zoomIn();
+                return;
+            }
+            if (event.getCode() == KeyCode.MINUS || event.getCode() == KeyCode.SUBTRACT) {
+                camera.zoomOut();
+                return;
+            }
+            Direction direction = toDirection(event.getCode());
+            if (direction != null) {
+                gameStateManager.handleCommand(direction, !heldDirections.add(direction));
             }
-            gameStateManager.movePlayer(newX, newY);
-            gameRenderer.render();
         });
+        gameScene.setOnKeyReleased(event -> {
+            Direction direction = toDirection(event.getCode());
+            if (direction != null) {
+                heldDirections.remove(direction);
+            }
+        });
+        // Releases are not delivered while the window is unfocused
+        gameStage.focusedProperty().addListener((observable, wasFocused, focused) -> heldDirections.clear());
 
         gameStage.show();
         gameRenderer.render();
+        gameStateManager.startGameLoop(gameRenderer, gameBoard);
+    }
+
+    private static Direction toDirection(KeyCode code) {
+        switch (code) {
+            case UP:
+                return Direction.UP;
+            case DOWN:
+                return Direction.DOWN;
+            case LEFT:
+                return Direction.LEFT;
+            case RIGHT:
+                return Direction.RIGHT;
+            default:
+                return null;
+        }
     }
 
     public void closeGameStage() {
+        if (metricsOverlay != null) {
+            metricsOverlay.stop();
+        }
         if (gameStage != null) {
             gameStage.close();
             gameStage = null;
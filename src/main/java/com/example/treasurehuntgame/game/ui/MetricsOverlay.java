@@ -0,0 +1,104 @@
+package com.example.treasurehuntgame.game.ui;
+
+import com.example.treasurehuntgame.metrics.GameMetrics;
+import com.example.treasurehuntgame.metrics.Histogram;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.scene.control.Label;
+import javafx.scene.text.Font;
+import javafx.util.Duration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Semi-transparent text panel over the board showing live GameMetrics. The text is refreshed four
+// times a second rather than every frame, so the overlay does not show up in the numbers it reports.
+public class MetricsOverlay {
+    private final GameMetrics metrics;
+    private final Label label = new Label();
+    private final Timeline refresh;
+    private long lastFrames;
+    private long lastUpdate;
+
+    public MetricsOverlay(GameMetrics metrics) {
+        this.metrics = metrics;
+        label.setFont(Font.font("Monospaced", 12));
+        label.setStyle("-fx-background-color: rgba(0, 0, 0, 0.65); -fx-text-fill: #e0e0e0; -fx-padding: 6;");
+        label.setMouseTransparent(true);
+        label.setVisible(false);
+        refresh = new Timeline(new KeyFrame(Duration.millis(250), e -> update()));
+        refresh.setCycleCount(Animation.INDEFINITE);
+    }
+
+    public Label getNode() {
+        return label;
+    }
+
+    public void toggle() {
+        if (label.isVisible()) {
+            label.setVisible(false);
+            refresh.stop();
+        } else {
+            lastFrames = metrics.getFrameCount();
+            lastUpdate = System.nanoTime();
+            update();
+            label.setVisible(true);
+            refresh.play();
+        }
+    }
+
+    public void stop() {
+        refresh.stop();
+    }
+
+    // Writes the current numbers to a CSV file under GameMetrics.getDirectory()
+    public void export() {
+        try {
+            Path file = metrics.export();
+            System.out.println("Metrics exported to " + file);
+        } catch (IOException e) {
+            System.err.println("Export metrics error: " + e.getMessage());
+        }
+    }
+
+    private void update() {
+        long now = System.nanoTime();
+        long frames = metrics.getFrameCount();
+        double fps = now == lastUpdate ? 0 : (frames - lastFrames) * 1e9 / (now - lastUpdate);
+        lastFrames = frames;
+        lastUpdate = now;
+
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("FPS %5.1f   pulses %d   frames %d%n", fps, metrics.getPulseCount(), frames));
+        text.append(String.format("%-14s %9s %9s%n", "", "p50", "p99"));
+        line(text, "frame time", metrics.frameInterval);
+        line(text, "frame work", metrics.frameWork);
+        line(text, "render", metrics.render);
+        line(text, "move enemies", metrics.moveEnemies);
+        line(text, "move player", metrics.movePlayer);
+        line(text, "input latency", metrics.inputLatency);
+        text.append(String.format("%-14s %8.1fK %8.1fK%n", "alloc/frame",
+                metrics.allocatedBytes.getValueAtPercentile(0.50) / 1024.0,
+                metrics.allocatedBytes.getValueAtPercentile(0.99) / 1024.0));
+        for (Histogram histogram : metrics.getDatabaseHistograms()) {
+            line(text, histogram.getName(), histogram);
+        }
+        if (metrics.getDroppedGameResults() > 0) {
+            text.append(String.format("dropped results %d%n", metrics.getDroppedGameResults()));
+        }
+        text.append("F3 hide   F4 export");
+        label.setText(text.toString());
+    }
+
+    private static void line(StringBuilder text, String name, Histogram histogram) {
+        text.append(String.format("%-14s %s %s%n", name,
+                formatNanos(histogram.getValueAtPercentile(0.50)), formatNanos(histogram.getValueAtPercentile(0.99))));
+    }
+
+    private static String formatNanos(long nanos) {
+        return nanos >= 1_000_000
+                ? String.format("%7.2fms", nanos / 1e6)
+                : String.format("%7.1fus", nanos / 1e3);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.treasurehuntgame.metrics;
+
+import com.sun.management.ThreadMXBean;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Application-wide timing and counters: one histogram per game-loop phase (in nanoseconds), input-to-display
+// latency, allocated bytes per frame on the FX thread, JavaFX pulse and frame counts, a histogram per database
+// operation and the number of game results dropped because the write-behind queue was full. Everything is lock-free to record, so phases can be timed on every tick.
+public class GameMetrics {
+    public static final String DIRECTORY_PROPERTY = "treasurehunt.metricsDir";
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final ThreadMXBean THREADS = threadBean();
+
+    public final Histogram frameInterval = new Histogram("frame-interval");
+    public final Histogram frameWork = new Histogram("frame-work");
+    public final Histogram render = new Histogram("render");
+    public final Histogram moveEnemies = new Histogram("move-enemies");
+    public final Histogram movePlayer = new Histogram("move-player");
+    public final Histogram inputLatency = new Histogram("input-latency");
+    public final Histogram allocatedBytes = new Histogram("allocated-bytes-per-frame");
+    private final Map<String, Histogram> database = new ConcurrentHashMap<>();
+    private final LongAdder pulses = new LongAdder();
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder droppedGameResults = new LongAdder();
+
+    public void recordPulse() {
+        pulses.increment();
+    }
+
+    public void recordFrame() {
+        frames.increment();
+    }
+
+    public void recordDroppedGameResult() {
+        droppedGameResults.increment();
+    }
+
+    public void recordDatabaseCall(String operation, long nanos) {
+        database.computeIfAbsent(operation, name -> new Histogram("db-" + name)).record(nanos);
+    }
+
+    // Clears the game-loop histograms when a new game starts; database timings are kept for the session
+    public void resetGameLoop() {
+        for (Histogram histogram : getGameLoopHistograms()) {
+            histogram.reset();
+        }
+        pulses.reset();
+        frames.reset();
+    }
+
+    public List<Histogram> getGameLoopHistograms() {
+        return List.of(frameInterval, frameWork, render, moveEnemies, movePlayer, inputLatency, allocatedBytes);
+    }
+
+    public List<Histogram> getDatabaseHistograms() {
+        List<Histogram> histograms = new ArrayList<>(database.values());
+        histograms.sort(Comparator.comparing(Histogram::getName));
+        return histograms;
+    }
+
+    public long getPulseCount() { return pulses.sum(); }
+    public long getFrameCount() { return frames.sum(); }
+    public long getDroppedGameResults() { return droppedGameResults.sum(); }
+
+    // Bytes allocated so far by the calling thread, or -1 where the JVM cannot tell
+    public static long currentThreadAllocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    public static Path getDirectory() {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        return directory != null
+                ? Path.of(directory)
+                : Path.of(System.getProperty("user.home"), ".treasurehunt", "metrics");
+    }
+
+    // Writes every histogram as CSV, one row per histogram, times in microseconds; returns the file written
+    public Path export() throws IOException {
+        Path file = getDirectory().resolve("metrics-" + LocalDateTime.now().format(FILE_TIME) + ".csv");
+        export(file);
+        return file;
+    }
+
+    public void export(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("name,unit,count,mean,p50,p90,p99,max");
+            for (Histogram histogram : getGameLoopHistograms()) {
+                write(out, histogram, histogram == allocatedBytes ? "bytes" : "us");
+            }
+            for (Histogram histogram : getDatabaseHistograms()) {
+                write(out, histogram, "us");
+            }
+            out.println("pulses,count," + getPulseCount() + ",,,,,");
+            out.println("frames,count," + getFrameCount() + ",,,,,");
+            out.println("dropped-game-results,count," + getDroppedGameResults() + ",,,,,");
+        }
+    }
+
+    private static void write(PrintWriter out, Histogram histogram, String unit) {
+        double scale = unit.equals("us") ? 1000.0 : 1.0;
+        out.printf(Locale.ROOT, "%s,%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f%n",
+                histogram.getName(), unit, histogram.getCount(), histogram.getMean() / scale,
+                histogram.getValueAtPercentile(0.50) / scale, histogram.getValueAtPercentile(0.90) / scale,
+                histogram.getValueAtPercentile(0.99) / scale, histogram.getMax() / scale);
+    }
+
+    private static ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof ThreadMXBean) {
+            ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.treasurehuntgame.scenes;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+// Delivers background results on the JavaFX Application Thread, dropping them if the request was cancelled meanwhile.
+public final class FxAsync {
+    private FxAsync() {
+    }
+
+    public static <T> void onFxThread(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        future.whenComplete((value, error) -> Platform.runLater(() -> {
+            if (future.isCancelled() || error instanceof CancellationException) {
+                return;
+            }
+            if (error != null) {
+                onError.accept(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            } else {
+                onSuccess.accept(value);
+            }
+        }));
+    }
+
+    public static void cancel(CompletableFuture<?> future) {
+        if (future != null && !future.isDone()) {
+            future.cancel(true);
+        }
+    }
+}
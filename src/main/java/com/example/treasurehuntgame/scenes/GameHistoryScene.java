@@ -1,14 +1,18 @@
 package com.example.treasurehuntgame.scenes;
 
 import com.example.treasurehuntgame.TreasureHuntGame;
-import com.example.treasurehuntgame.database.DatabaseManager;
+import com.example.treasurehuntgame.database.AsyncDatabase;
 import com.example.treasurehuntgame.database.GameRecord;
+import com.example.treasurehuntgame.database.Leaderboard;
+import com.example.treasurehuntgame.database.LeaderboardEntry;
+import com.example.treasurehuntgame.game.core.GameDifficulty;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
@@ -17,16 +21,26 @@ import javafx.scene.text.FontWeight;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 public class GameHistoryScene {
+    private static final int PAGE_SIZE = 50;
+    private static final int PREFETCH_ROWS = 10;
+    private static final int LEADERBOARD_SIZE = 3;
+
     private final TreasureHuntGame app;
-    private final DatabaseManager dbManager;
+    private final AsyncDatabase database;
     private Scene scene;
     private String currentPlayer;
+    private ListView<GameRecord> historyList;
+    private Label placeholderLabel;
+    private Label leaderboardLabel;
+    private CompletableFuture<List<GameRecord>> pendingPage;
+    private boolean hasMorePages;
 
-    public GameHistoryScene(TreasureHuntGame app, DatabaseManager dbManager) {
+    public GameHistoryScene(TreasureHuntGame app, AsyncDatabase database) {
         this.app = app;
-        this.dbManager = dbManager;
+        this.database = database;
         this.scene = createGameHistoryScene();
     }
 
@@ -42,17 +56,31 @@ public class GameHistoryScene {
         titleLabel.setTextFill(Color.GOLD);
         titleLabel.getStyleClass().add("title");
 
-        ScrollPane scrollPane = new ScrollPane();
-        scrollPane.getStyleClass().add("scroll-pane");
-        VBox historyContent = new VBox(10);
-        historyContent.setPadding(new Insets(20));
-        historyContent.getStyleClass().add("history-content");
+        leaderboardLabel = new Label();
+        leaderboardLabel.setTextFill(Color.WHITE);
+        leaderboardLabel.setFont(Font.font("Arial", 14));
+        leaderboardLabel.getStyleClass().add("label");
+
+        placeholderLabel = new Label();
+        placeholderLabel.setTextFill(Color.WHITE);
+        placeholderLabel.setFont(Font.font("Arial", 16));
+        placeholderLabel.getStyleClass().add("label");
+
+        historyList = new ListView<>();
+        historyList.getStyleClass().addAll("history-content", "history-list");
+        historyList.setPlaceholder(placeholderLabel);
+        historyList.setMaxHeight(350);
+        historyList.setCellFactory(list -> new HistoryCell());
 
         Button backButton = new Button("🏠 BACK TO MENU");
         backButton.getStyleClass().addAll("button", "back-button");
-        backButton.setOnAction(e -> app.showMainMenu());
+        backButton.setOnAction(e -> {
+            FxAsync.cancel(pendingPage);
+            pendingPage = null;
+            app.showMainMenu();
+        });
 
-        historyLayout.getChildren().addAll(titleLabel, scrollPane, backButton);
+        historyLayout.getChildren().addAll(titleLabel, leaderboardLabel, historyList, backButton);
 
         Scene historyScene = new Scene(historyLayout, 800, 800);
         historyScene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/com/example/treasurehuntgame/styles.css")).toExternalForm());
@@ -64,51 +92,113 @@ public class GameHistoryScene {
         updateHistoryContent();
     }
 
-    private void updateHistoryContent() {
-        VBox historyLayout = (VBox) scene.getRoot();
-        ScrollPane scrollPane = (ScrollPane) historyLayout.getChildren().get(1);
-
-        VBox historyContent = new VBox(10);
-        historyContent.setPadding(new Insets(20));
-        historyContent.getStyleClass().add("history-content");
-
-        List<GameRecord> history = dbManager.getPlayerHistory(currentPlayer);
-
-        if (history.isEmpty()) {
-            Label noHistoryLabel = new Label("No games played yet. Start playing to see your history!");
-            noHistoryLabel.setTextFill(Color.WHITE);
-            noHistoryLabel.setFont(Font.font("Arial", 16));
-            noHistoryLabel.getStyleClass().add("label");
-            historyContent.getChildren().add(noHistoryLabel);
-        } else {
-            for (GameRecord record : history) {
-                HBox recordBox = new HBox(20);
-                recordBox.setAlignment(Pos.CENTER_LEFT);
-                recordBox.setPadding(new Insets(10));
-                recordBox.getStyleClass().add("history-box");
-
-                String resultIcon = record.result.equals("WIN") ? "🏆" : "💀";
-                String difficultyColor = record.difficulty.equals("EASY") ? "🟢" :
-                        record.difficulty.equals("MEDIUM") ? "🟡" : "🔴";
-
-                Label recordLabel = new Label(String.format(
-                        "%s %s %s | Time: %ds | %s",
-                        resultIcon, difficultyColor, record.difficulty, record.timeSpent, record.playTime
-                ));
-                recordLabel.setTextFill(Color.WHITE);
-                recordLabel.setFont(Font.font("Arial", 14));
-                recordLabel.getStyleClass().add("label");
-
-                recordBox.getChildren().add(recordLabel);
-                historyContent.getChildren().add(recordBox);
+    private void updateLeaderboard() {
+        Leaderboard leaderboard = database.getLeaderboard();
+        StringBuilder text = new StringBuilder("🏅 FASTEST WINS");
+        for (GameDifficulty difficulty : GameDifficulty.values()) {
+            String name = difficulty.toString();
+            text.append(String.format("%n%s:", name));
+            List<LeaderboardEntry> top = leaderboard.getTop(name, LEADERBOARD_SIZE);
+            if (top.isEmpty()) {
+                text.append(" no wins yet");
+                continue;
+            }
+            for (LeaderboardEntry entry : top) {
+                text.append(String.format("  %d. %s %ds", entry.rank, entry.username, entry.bestTime));
+            }
+            int rank = leaderboard.getRank(name, currentPlayer);
+            if (rank > LEADERBOARD_SIZE) {
+                text.append(String.format("  | You: #%d of %d", rank, leaderboard.getPlayerCount(name)));
             }
         }
+        leaderboardLabel.setText(text.toString());
+    }
+
+    private void updateHistoryContent() {
+        updateLeaderboard();
+        FxAsync.cancel(pendingPage);
+        pendingPage = null;
+        historyList.getItems().clear();
+        hasMorePages = true;
+        placeholderLabel.setText("Loading game history...");
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        // pendingPage is cleared only once its rows are in the list, so a cell cannot request the same page twice
+        if (!hasMorePages || pendingPage != null) {
+            return;
+        }
+
+        List<GameRecord> items = historyList.getItems();
+        GameRecord last = items.isEmpty() ? null : items.get(items.size() - 1);
+        CompletableFuture<List<GameRecord>> page = database.getPlayerHistoryPage(currentPlayer, last, PAGE_SIZE);
+        pendingPage = page;
+        FxAsync.onFxThread(page, records -> {
+            if (page != pendingPage) {
+                return; // superseded by a reload or by leaving the scene
+            }
+            pendingPage = null;
+            hasMorePages = records.size() == PAGE_SIZE;
+            historyList.getItems().addAll(records);
+            if (historyList.getItems().isEmpty()) {
+                placeholderLabel.setText("No games played yet. Start playing to see your history!");
+            }
+        }, error -> {
+            if (page != pendingPage) {
+                return;
+            }
+            pendingPage = null;
+            hasMorePages = false;
+            placeholderLabel.setText("Could not load game history: " + error.getMessage());
+        });
+    }
 
-        scrollPane.setContent(historyContent);
-        scrollPane.setMaxHeight(350);
+    private static String formatRecord(GameRecord record) {
+        String resultIcon = record.result.equals("WIN") ? "🏆" : "💀";
+        String difficultyColor = record.difficulty.equals("EASY") ? "🟢" :
+                record.difficulty.equals("MEDIUM") ? "🟡" : "🔴";
+
+        return String.format(
+                "%s %s %s | Time: %ds | %s",
+                resultIcon, difficultyColor, record.difficulty, record.timeSpent, record.playTime
+        );
     }
 
     public Scene getScene() {
         return scene;
     }
-}
\ No newline at end of file
+
+    private class HistoryCell extends ListCell<GameRecord> {
+        private final HBox recordBox = new HBox(20);
+        private final Label recordLabel = new Label();
+
+        HistoryCell() {
+            recordBox.setAlignment(Pos.CENTER_LEFT);
+            recordBox.setPadding(new Insets(10));
+            recordBox.getStyleClass().add("history-box");
+
+            recordLabel.setTextFill(Color.WHITE);
+            recordLabel.setFont(Font.font("Arial", 14));
+            recordLabel.getStyleClass().add("label");
+
+            recordBox.getChildren().add(recordLabel);
+        }
+
+        @Override
+        protected void updateItem(GameRecord record, boolean empty) {
+            super.updateItem(record, empty);
+            if (empty || record == null) {
+                setGraphic(null);
+                return;
+            }
+
+            recordLabel.setText(formatRecord(record));
+            setGraphic(recordBox);
+
+            if (getIndex() >= getListView().getItems().size() - PREFETCH_ROWS) {
+                loadNextPage();
+            }
+        }
+    }
+}
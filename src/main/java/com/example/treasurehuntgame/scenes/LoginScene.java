@@ -1,7 +1,7 @@
 package com.example.treasurehuntgame.scenes;
 
 import com.example.treasurehuntgame.TreasureHuntGame;
-import com.example.treasurehuntgame.database.DatabaseManager;
+import com.example.treasurehuntgame.database.AsyncDatabase;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -17,12 +17,12 @@ import java.util.Objects;
 
 public class LoginScene {
     private final TreasureHuntGame app;
-    private final DatabaseManager dbManager;
+    private final AsyncDatabase database;
     private final Scene scene;
 
-    public LoginScene(TreasureHuntGame app, DatabaseManager dbManager) {
+    public LoginScene(TreasureHuntGame app, AsyncDatabase database) {
         this.app = app;
-        this.dbManager = dbManager;
+        this.database = database;
         this.scene = createLoginScene();
     }
 
@@ -67,16 +67,31 @@ public class LoginScene {
                 return;
             }
 
-            if (dbManager.authenticateUser(username, password)) {
-                app.setCurrentPlayer(username);
-                app.showMainMenu();
-            } else {
-                messageLabel.setText("Invalid username or password!");
-            }
+            loginButton.setDisable(true);
+            messageLabel.setText("Signing in...");
+            FxAsync.onFxThread(database.authenticateUser(username, password), authenticated -> {
+                loginButton.setDisable(false);
+                if (authenticated) {
+                    messageLabel.setText("");
+                    app.setCurrentPlayer(username);
+                    app.showMainMenu();
+                } else {
+                    messageLabel.setText("Invalid username or password!");
+                }
+            }, error -> {
+                loginButton.setDisable(false);
+                messageLabel.setText("Login failed: " + error.getMessage());
+            });
         });
 
         registerButton.setOnAction(e -> app.showRegistrationScene());
 
+        FxAsync.onFxThread(database.whenReady(), initialized -> { }, error -> {
+            loginButton.setDisable(true);
+            registerButton.setDisable(true);
+            messageLabel.setText("Database unavailable: " + error.getMessage());
+        });
+
         usernameField.setOnKeyPressed(e -> {
             if (e.getCode() == KeyCode.ENTER) {
                 passwordField.requestFocus();
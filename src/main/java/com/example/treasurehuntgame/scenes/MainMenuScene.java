@@ -1,7 +1,8 @@
 package com.example.treasurehuntgame.scenes;
 
 import com.example.treasurehuntgame.TreasureHuntGame;
-import com.example.treasurehuntgame.database.DatabaseManager;
+import com.example.treasurehuntgame.database.AsyncDatabase;
+import com.example.treasurehuntgame.database.PlayerStats;
 import com.example.treasurehuntgame.game.core.GameDifficulty;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -13,18 +14,23 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 public class MainMenuScene {
     private final TreasureHuntGame app;
-    private final DatabaseManager dbManager;
+    private final AsyncDatabase database;
     private final Scene scene;
     private String currentPlayer;
     private Label welcomeLabel;
+    private Label statsLabel;
+    private Button resumeButton;
+    private CompletableFuture<List<PlayerStats>> pendingStats;
 
-    public MainMenuScene(TreasureHuntGame app, DatabaseManager dbManager) {
+    public MainMenuScene(TreasureHuntGame app, AsyncDatabase database) {
         this.app = app;
-        this.dbManager = dbManager;
+        this.database = database;
         this.scene = createMainMenuScene();
     }
 
@@ -40,11 +46,21 @@ public class MainMenuScene {
         welcomeLabel.setTextFill(Color.GOLD);
         welcomeLabel.getStyleClass().add("welcome");
 
+        statsLabel = new Label();
+        statsLabel.setTextFill(Color.WHITE);
+        statsLabel.setFont(Font.font("Arial", 14));
+        statsLabel.getStyleClass().add("label");
+
         Label titleLabel = new Label("🏴‍☠️ TREASURE HUNT 🏴‍☠️");
         titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 36));
         titleLabel.setTextFill(Color.GOLD);
         titleLabel.getStyleClass().add("title");
 
+        resumeButton = new Button("▶ RESUME GAME");
+        resumeButton.getStyleClass().addAll("button", "menu-button", "resume-button");
+        resumeButton.setVisible(false);
+        resumeButton.managedProperty().bind(resumeButton.visibleProperty());
+
         Button easyButton = new Button("🟢 EASY LEVEL");
         easyButton.getStyleClass().addAll("button", "menu-button", "easy-button");
 
@@ -60,6 +76,7 @@ public class MainMenuScene {
         Button logoutButton = new Button("🚪 LOGOUT");
         logoutButton.getStyleClass().addAll("button", "menu-button", "logout-button");
 
+        resumeButton.setOnAction(e -> app.resumeGame());
         easyButton.setOnAction(e -> app.startGame(GameDifficulty.EASY));
         mediumButton.setOnAction(e -> app.startGame(GameDifficulty.MEDIUM));
         hardButton.setOnAction(e -> app.startGame(GameDifficulty.HARD));
@@ -75,12 +92,13 @@ public class MainMenuScene {
                     setFont(Font.font("Arial", 20));
                     getStyleClass().add("label");
                 }},
-                easyButton, mediumButton, hardButton
+                resumeButton, easyButton, mediumButton, hardButton
         );
 
         menuLayout.getChildren().addAll(
                 titleLabel,
                 welcomeLabel,
+                statsLabel,
                 difficultyBox,
                 historyButton,
                 logoutButton
@@ -96,6 +114,45 @@ public class MainMenuScene {
         if (welcomeLabel != null) {
             welcomeLabel.setText("Welcome, " + currentPlayer + "!");
         }
+        resumeButton.setVisible(app.hasSavedGame());
+        updateStats();
+    }
+
+    private void updateStats() {
+        FxAsync.cancel(pendingStats);
+        statsLabel.setText("");
+        if (currentPlayer == null) {
+            return;
+        }
+
+        pendingStats = database.getPlayerStats(currentPlayer);
+        FxAsync.onFxThread(pendingStats, this::showStats,
+                error -> statsLabel.setText("Statistics unavailable"));
+    }
+
+    private void showStats(List<PlayerStats> stats) {
+        if (stats.isEmpty()) {
+            statsLabel.setText("No games played yet");
+            return;
+        }
+
+        int games = 0;
+        int wins = 0;
+        StringBuilder perDifficulty = new StringBuilder();
+        for (GameDifficulty difficulty : GameDifficulty.values()) {
+            for (PlayerStats entry : stats) {
+                if (!entry.difficulty.equals(difficulty.toString())) {
+                    continue;
+                }
+                games += entry.gamesPlayed;
+                wins += entry.wins;
+                perDifficulty.append(String.format("%n%s: %d games, %.0f%% wins, best %s",
+                        entry.difficulty, entry.gamesPlayed, entry.getWinRate() * 100,
+                        entry.bestWinTime == null ? "-" : entry.bestWinTime + "s"));
+            }
+        }
+        statsLabel.setText(String.format("Games: %d | Wins: %d (%.0f%%)", games, wins,
+                games == 0 ? 0.0 : wins * 100.0 / games) + perDifficulty);
     }
 
     public Scene getScene() {
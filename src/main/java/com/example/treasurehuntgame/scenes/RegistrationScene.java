@@ -1,7 +1,7 @@
 package com.example.treasurehuntgame.scenes;
 
 import com.example.treasurehuntgame.TreasureHuntGame;
-import com.example.treasurehuntgame.database.DatabaseManager;
+import com.example.treasurehuntgame.database.AsyncDatabase;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -18,12 +18,12 @@ import java.util.Objects;
 
 public class RegistrationScene {
     private final TreasureHuntGame app;
-    private final DatabaseManager dbManager;
+    private final AsyncDatabase database;
     private final Scene scene;
 
-    public RegistrationScene(TreasureHuntGame app, DatabaseManager dbManager) {
+    public RegistrationScene(TreasureHuntGame app, AsyncDatabase database) {
         this.app = app;
-        this.dbManager = dbManager;
+        this.database = database;
         this.scene = createRegistrationScene();
     }
 
@@ -125,26 +125,47 @@ public class RegistrationScene {
                 return;
             }
 
-            if (dbManager.registerUser(username, password)) {
-                messageLabel.setText("Account created successfully! Returning to login...");
-                messageLabel.setTextFill(Color.LIGHTGREEN);
-
-                new Thread(() -> {
-                    try {
-                        Thread.sleep(2000);
-                        javafx.application.Platform.runLater(() -> app.showLoginScene());
-                    } catch (InterruptedException ex) {
-                        ex.printStackTrace();
-                    }
-                }).start();
-            } else {
-                messageLabel.setText("Username already exists! Try another one.");
+            createButton.setDisable(true);
+            FxAsync.onFxThread(database.registerUser(username, password), registered -> {
+                createButton.setDisable(false);
+                if (registered) {
+                    messageLabel.setText("Account created successfully! Returning to login...");
+                    messageLabel.setTextFill(Color.LIGHTGREEN);
+
+                    new Thread(() -> {
+                        try {
+                            Thread.sleep(2000);
+                            javafx.application.Platform.runLater(() -> app.showLoginScene());
+                        } catch (InterruptedException ex) {
+                            ex.printStackTrace();
+                        }
+                    }).start();
+                } else {
+                    messageLabel.setText("Username already exists! Try another one.");
+                    messageLabel.setTextFill(Color.RED);
+                }
+            }, error -> {
+                createButton.setDisable(false);
+                messageLabel.setText("Registration failed: " + error.getMessage());
                 messageLabel.setTextFill(Color.RED);
-            }
+            });
         });
 
         backButton.setOnAction(e -> app.showLoginScene());
 
+        usernameField.focusedProperty().addListener((obs, wasFocused, focused) -> {
+            String username = usernameField.getText().trim();
+            if (focused || username.length() < 3) {
+                return;
+            }
+            FxAsync.onFxThread(database.userExists(username), exists -> {
+                if (exists && username.equals(usernameField.getText().trim())) {
+                    messageLabel.setText("Username already exists! Try another one.");
+                    messageLabel.setTextFill(Color.RED);
+                }
+            }, error -> { });
+        });
+
         usernameField.setOnKeyPressed(e -> {
             if (e.getCode() == KeyCode.ENTER) {
                 passwordField.requestFocus();
@@ -3,6 +3,7 @@ module com.example.treasurehuntgame {
     requires javafx.fxml;
     requires java.sql;
     requires java.desktop;
+    requires jdk.management;
 
 
     opens com.example.treasurehuntgame to javafx.fxml;
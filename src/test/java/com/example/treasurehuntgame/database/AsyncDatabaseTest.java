@@ -0,0 +1,61 @@
+package com.example.treasurehuntgame.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Background initialization and the queries that wait for it, over the local store
+class AsyncDatabaseTest {
+    private Path directory;
+    private AsyncDatabase database;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("async-database-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        database.close();
+        Files.deleteIfExists(directory.resolve("game-data.log"));
+        Files.delete(directory);
+    }
+
+    @Test
+    void queriesRunAfterInitialization() throws Exception {
+        database = new AsyncDatabase(new LocalGameRepository(directory.resolve("game-data.log")));
+        CompletableFuture<Boolean> registered = database.registerUser("alice", "secret");
+        database.initializeAsync().get(5, TimeUnit.SECONDS);
+
+        assertTrue(registered.get(5, TimeUnit.SECONDS));
+        assertTrue(database.userExists("alice").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failedInitializationFailsReadyAndQueries() {
+        // The data file path is a directory, so the store cannot be opened
+        database = new AsyncDatabase(new LocalGameRepository(directory));
+        CompletableFuture<Void> initialized = database.initializeAsync();
+        CompletableFuture<Boolean> login = database.authenticateUser("alice", "secret");
+
+        ExecutionException initError = assertThrows(ExecutionException.class, () -> initialized.get(5, TimeUnit.SECONDS));
+        assertTrue(initError.getCause() instanceof UncheckedIOException);
+        assertTrue(database.whenReady().isCompletedExceptionally());
+
+        ExecutionException loginError = assertThrows(ExecutionException.class, () -> login.get(5, TimeUnit.SECONDS));
+        assertEquals("Database unavailable", loginError.getCause().getMessage());
+        assertEquals(initError.getCause(), loginError.getCause().getCause());
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.treasurehuntgame.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// ConnectionPool against an in-memory H2 database
+class ConnectionPoolTest {
+    private String url;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:pool-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1";
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void reusesReturnedConnections() throws SQLException {
+        pool = new ConnectionPool(url, "sa", "", 2, 1_000, 60_000);
+        for (int i = 0; i < 5; i++) {
+            try (Connection conn = pool.getConnection()) {
+                assertEquals(1, query(conn, "SELECT 1"));
+            }
+        }
+        assertEquals(1, pool.getConnectionsCreated());
+        assertEquals(5, pool.getBorrowCount());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    void discardsIdleConnectionThatFailsValidation() throws SQLException {
+        pool = new ConnectionPool(url, "sa", "", 2, 1_000, 60_000);
+        try (Connection conn = pool.getConnection()) {
+            assertEquals(1, query(conn, "SELECT 1"));
+        }
+
+        // Closes every open session, including the idle one held by the pool
+        try (Connection admin = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = admin.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        }
+
+        try (Connection conn = pool.getConnection()) {
+            assertEquals(1, query(conn, "SELECT 1"));
+        }
+        assertEquals(1, pool.getConnectionsDiscarded());
+        assertEquals(2, pool.getConnectionsCreated());
+    }
+
+    @Test
+    void borrowTimesOutWhenPoolIsExhausted() throws SQLException {
+        pool = new ConnectionPool(url, "sa", "", 1, 100, 60_000);
+        try (Connection held = pool.getConnection()) {
+            assertThrows(SQLTimeoutException.class, pool::getConnection);
+            assertEquals(1, pool.getBorrowTimeouts());
+            assertEquals(1, query(held, "SELECT 1"));
+        }
+        // The permit comes back once the holder returns its connection
+        try (Connection conn = pool.getConnection()) {
+            assertEquals(1, query(conn, "SELECT 1"));
+        }
+    }
+
+    @Test
+    void expiredIdleConnectionIsReplacedOnBorrow() throws Exception {
+        pool = new ConnectionPool(url, "sa", "", 2, 1_000, 50);
+        pool.getConnection().close();
+        Thread.sleep(150);
+
+        try (Connection conn = pool.getConnection()) {
+            assertEquals(1, query(conn, "SELECT 1"));
+        }
+        assertEquals(2, pool.getConnectionsCreated());
+        assertTrue(pool.getConnectionsDiscarded() >= 1);
+    }
+
+    @Test
+    void evictorClosesIdleConnections() throws Exception {
+        // The sweep runs at most once a second whatever the idle limit
+        pool = new ConnectionPool(url, "sa", "", 2, 1_000, 50);
+        pool.getConnection().close();
+        assertEquals(1, pool.getIdleCount());
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (pool.getIdleCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, pool.getIdleCount());
+        assertEquals(1, pool.getConnectionsDiscarded());
+    }
+
+    @Test
+    void tracksActiveConnectionsAndBorrowWait() throws Exception {
+        pool = new ConnectionPool(url, "sa", "", 1, 5_000, 60_000);
+        Connection first = pool.getConnection();
+        assertEquals(1, pool.getActiveCount());
+
+        CountDownLatch borrowing = new CountDownLatch(1);
+        Thread releaser = new Thread(() -> {
+            try {
+                borrowing.await();
+                Thread.sleep(200);
+                first.close();
+            } catch (InterruptedException | SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        releaser.start();
+        borrowing.countDown();
+        try (Connection second = pool.getConnection()) {
+            assertEquals(1, pool.getActiveCount());
+            assertEquals(1, query(second, "SELECT 1"));
+        }
+        releaser.join();
+
+        assertEquals(0, pool.getActiveCount());
+        assertEquals(2, pool.getBorrowCount());
+        assertTrue(pool.getMaxBorrowWaitMillis() >= 150, "max wait " + pool.getMaxBorrowWaitMillis());
+        assertTrue(pool.getAverageBorrowWaitMillis() > 0);
+    }
+
+    @Test
+    void returnedConnectionCannotBeUsed() throws SQLException {
+        pool = new ConnectionPool(url, "sa", "", 1, 1_000, 60_000);
+        Connection conn = pool.getConnection();
+        conn.close();
+        conn.close();
+        assertTrue(conn.isClosed());
+        assertThrows(SQLException.class, conn::createStatement);
+        assertEquals(0, pool.getActiveCount());
+    }
+
+    private static int query(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
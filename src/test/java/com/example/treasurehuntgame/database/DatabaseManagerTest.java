@@ -0,0 +1,134 @@
+package com.example.treasurehuntgame.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Schema migrations and queries against in-memory H2 in Oracle compatibility mode
+class DatabaseManagerTest {
+    private String url;
+    private DatabaseManager database;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:manager-" + System.nanoTime() + ";MODE=Oracle;DB_CLOSE_DELAY=-1";
+        database = new DatabaseManager(new ConnectionPool(url, "sa", ""));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void migratesEmptyDatabaseAndServesQueries() throws SQLException {
+        database.initializeTables();
+        assertEquals(3, query("SELECT version FROM schema_version"));
+
+        assertTrue(database.registerUser("alice", "secret"));
+        assertTrue(database.saveGameResults(List.of(
+                GameRecord.create("alice", "EASY", "WIN", 40),
+                GameRecord.create("alice", "EASY", "LOSS", 90),
+                GameRecord.create("alice", "EASY", "WIN", 25))));
+
+        List<PlayerStats> stats = database.getPlayerStats("alice");
+        assertEquals(1, stats.size());
+        assertEquals(3, stats.get(0).gamesPlayed);
+        assertEquals(2, stats.get(0).wins);
+        assertEquals(155, stats.get(0).totalTime);
+        assertEquals(25, (int) stats.get(0).bestWinTime);
+
+        List<GameRecord> first = database.getPlayerHistoryPage("alice", null, 2);
+        assertEquals(2, first.size());
+        List<GameRecord> second = database.getPlayerHistoryPage("alice", first.get(1), 2);
+        assertEquals(1, second.size());
+        assertTrue(first.get(0).id > 0 && first.get(1).id > 0 && second.get(0).id > 0);
+    }
+
+    @Test
+    void secondStartKeepsDataAndVersion() throws SQLException {
+        database.initializeTables();
+        assertTrue(database.registerUser("alice", "secret"));
+        assertTrue(database.saveGameResults(List.of(GameRecord.create("alice", "HARD", "WIN", 70))));
+
+        database.initializeTables();
+        assertEquals(3, query("SELECT version FROM schema_version"));
+        assertEquals(1, query("SELECT COUNT(*) FROM schema_version"));
+        assertEquals(1, query("SELECT games_played FROM player_stats"));
+    }
+
+    @Test
+    void detectsSchemaCreatedBeforeVersioning() throws SQLException {
+        database.initializeTables();
+        assertTrue(database.registerUser("alice", "secret"));
+        assertTrue(database.saveGameResults(List.of(
+                GameRecord.create("alice", "MEDIUM", "WIN", 50),
+                GameRecord.create("alice", "MEDIUM", "WIN", 30))));
+
+        // A version 1 database: only the two original tables
+        execute("DROP TABLE schema_version");
+        execute("DROP TABLE player_stats");
+        execute("DROP INDEX game_history_user_time_idx");
+
+        database.initializeTables();
+        assertEquals(3, query("SELECT version FROM schema_version"));
+        assertEquals(1, query("SELECT COUNT(*) FROM player_stats"));
+        assertEquals(30, query("SELECT best_win_time FROM player_stats"));
+        assertEquals(2, query("SELECT COUNT(*) FROM game_history"));
+    }
+
+    @Test
+    void detectsCurrentSchemaWithoutVersionTable() throws SQLException {
+        database.initializeTables();
+        assertTrue(database.registerUser("alice", "secret"));
+        assertTrue(database.saveGameResults(List.of(GameRecord.create("alice", "EASY", "WIN", 20))));
+        execute("DROP TABLE schema_version");
+
+        database.initializeTables();
+        assertEquals(3, query("SELECT version FROM schema_version"));
+        assertEquals(1, query("SELECT games_played FROM player_stats"));
+        assertNotNull(database.getPasswordHash("alice"));
+    }
+
+    @Test
+    void skipsResultsForUnknownUsersAndSavesTheRest() throws SQLException {
+        database.initializeTables();
+        assertTrue(database.registerUser("alice", "secret"));
+        assertTrue(database.saveGameResults(List.of(
+                GameRecord.create("alice", "EASY", "WIN", 40),
+                GameRecord.create("nobody", "EASY", "WIN", 10),
+                GameRecord.create("alice", "EASY", "LOSS", 60))));
+
+        assertEquals(2, query("SELECT COUNT(*) FROM game_history"));
+        assertEquals(2, query("SELECT games_played FROM player_stats WHERE username = 'alice'"));
+        assertEquals(0, query("SELECT COUNT(*) FROM player_stats WHERE username = 'nobody'"));
+        assertTrue(database.saveGameResults(List.of(GameRecord.create("nobody", "EASY", "WIN", 10))));
+    }
+
+    private int query(String sql) throws SQLException {
+        try (Connection conn = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            assertTrue(rs.next(), sql);
+            return rs.getInt(1);
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection conn = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.treasurehuntgame.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Checks the ranking against a list sorted from scratch after every win
+class LeaderboardTest {
+    private static final String DIFFICULTY = "MEDIUM";
+
+    @Test
+    void matchesSortedListUnderRandomWins() {
+        Leaderboard leaderboard = new Leaderboard();
+        Map<String, Integer> best = new HashMap<>();
+        Random random = new Random(42);
+        for (int win = 0; win < 3_000; win++) {
+            // Few distinct times, so many players tie and are ordered by name
+            String username = "player" + random.nextInt(400);
+            int time = 10 + random.nextInt(200);
+            leaderboard.recordWin(username, DIFFICULTY, time);
+            best.merge(username, time, Math::min);
+
+            if (win % 50 == 0) {
+                assertMatches(leaderboard, best, random);
+            }
+        }
+        assertMatches(leaderboard, best, random);
+    }
+
+    @Test
+    void slowerWinDoesNotReplaceBestTime() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.recordWin("alice", DIFFICULTY, 30);
+        leaderboard.recordWin("bob", DIFFICULTY, 40);
+        leaderboard.recordWin("alice", DIFFICULTY, 50);
+        assertEquals(1, leaderboard.getRank(DIFFICULTY, "alice"));
+        assertEquals(30, leaderboard.getTop(DIFFICULTY, 1).get(0).bestTime);
+
+        leaderboard.recordWin("bob", DIFFICULTY, 20);
+        assertEquals(1, leaderboard.getRank(DIFFICULTY, "bob"));
+        assertEquals(2, leaderboard.getPlayerCount(DIFFICULTY));
+    }
+
+    @Test
+    void unknownPlayersAndDifficultiesAreEmpty() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.recordWin("alice", DIFFICULTY, 30);
+        assertEquals(0, leaderboard.getRank(DIFFICULTY, "bob"));
+        assertEquals(0, leaderboard.getRank("HARD", "alice"));
+        assertTrue(leaderboard.getTop("HARD", 10).isEmpty());
+        assertTrue(leaderboard.getNeighbours(DIFFICULTY, "bob", 2).isEmpty());
+        assertEquals(0, leaderboard.getPlayerCount("HARD"));
+    }
+
+    private static void assertMatches(Leaderboard leaderboard, Map<String, Integer> best, Random random) {
+        List<String> expected = new ArrayList<>(best.keySet());
+        expected.sort(Comparator.<String>comparingInt(best::get).thenComparing(Comparator.naturalOrder()));
+        assertEquals(expected.size(), leaderboard.getPlayerCount(DIFFICULTY));
+
+        // Both inside the published top array and past it
+        for (int count : new int[]{1, 10, Leaderboard.TOP_SIZE, Leaderboard.TOP_SIZE + 50, expected.size() + 10}) {
+            List<LeaderboardEntry> top = leaderboard.getTop(DIFFICULTY, count);
+            assertEquals(Math.min(count, expected.size()), top.size(), "top " + count);
+            for (int i = 0; i < top.size(); i++) {
+                assertEntry(expected, best, i, top.get(i));
+            }
+        }
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, leaderboard.getRank(DIFFICULTY, expected.get(i)), expected.get(i));
+        }
+
+        String username = expected.get(random.nextInt(expected.size()));
+        int position = expected.indexOf(username);
+        List<LeaderboardEntry> neighbours = leaderboard.getNeighbours(DIFFICULTY, username, 3);
+        int from = Math.max(0, position - 3);
+        assertEquals(Math.min(expected.size(), position + 4) - from, neighbours.size());
+        for (int i = 0; i < neighbours.size(); i++) {
+            assertEntry(expected, best, from + i, neighbours.get(i));
+        }
+    }
+
+    private static void assertEntry(List<String> expected, Map<String, Integer> best, int position, LeaderboardEntry entry) {
+        assertEquals(position + 1, entry.rank);
+        assertEquals(expected.get(position), entry.username);
+        assertEquals((long) best.get(entry.username), entry.bestTime);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.treasurehuntgame.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The append-only local store: persistence across restarts, recovery from a torn tail, and isolation of returned records
+class LocalGameRepositoryTest {
+    private Path directory;
+    private Path file;
+    private LocalGameRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("local-store-test");
+        file = directory.resolve("game-data.log");
+        repository = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+        Files.deleteIfExists(file);
+        Files.delete(directory);
+    }
+
+    @Test
+    void reloadsUsersHistoryAndStats() {
+        assertTrue(repository.registerUser("alice", "secret"));
+        assertTrue(repository.saveGameResults(List.of(
+                GameRecord.create("alice", "EASY", "WIN", 30),
+                GameRecord.create("alice", "EASY", "LOSS", 60))));
+        repository.close();
+
+        repository = open();
+        assertNotNull(repository.getPasswordHash("alice"));
+        assertEquals(2, repository.getPlayerHistoryPage("alice", null, 10).size());
+        PlayerStats stats = repository.getPlayerStats("alice").get(0);
+        assertEquals(2, stats.gamesPlayed);
+        assertEquals(30, (int) stats.bestWinTime);
+    }
+
+    @Test
+    void discardsTornTailAndKeepsLaterAppends() throws IOException {
+        assertTrue(repository.registerUser("alice", "secret"));
+        assertTrue(repository.saveGameResults(List.of(GameRecord.create("alice", "EASY", "WIN", 30))));
+        repository.close();
+
+        // A game entry whose payload was cut off by a crash
+        Files.write(file, new byte[]{2, 0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+        repository = open();
+        assertTrue(repository.saveGameResults(List.of(GameRecord.create("alice", "EASY", "WIN", 20))));
+        repository.close();
+
+        repository = open();
+        assertEquals(2, repository.getPlayerHistoryPage("alice", null, 10).size());
+        assertEquals(20, (int) repository.getPlayerStats("alice").get(0).bestWinTime);
+    }
+
+    @Test
+    void historyPagesAreCopies() {
+        assertTrue(repository.registerUser("alice", "secret"));
+        assertTrue(repository.saveGameResults(List.of(GameRecord.create("alice", "EASY", "WIN", 30))));
+
+        GameRecord returned = repository.getPlayerHistoryPage("alice", null, 10).get(0);
+        returned.result = "LOSS";
+        returned.timeSpent = 999;
+
+        GameRecord stored = repository.getPlayerHistoryPage("alice", null, 10).get(0);
+        assertEquals("WIN", stored.result);
+        assertEquals(30, stored.timeSpent);
+    }
+
+    @Test
+    void skipsResultsForUnknownUsersAndSavesTheRest() {
+        assertTrue(repository.registerUser("alice", "secret"));
+        assertTrue(repository.saveGameResults(List.of(
+                GameRecord.create("alice", "EASY", "WIN", 40),
+                GameRecord.create("nobody", "EASY", "WIN", 10),
+                GameRecord.create("alice", "EASY", "LOSS", 60))));
+
+        assertEquals(2, repository.getPlayerHistoryPage("alice", null, 10).size());
+        assertEquals(2, repository.getPlayerStats("alice").get(0).gamesPlayed);
+        assertTrue(repository.getPlayerStats("nobody").isEmpty());
+        assertTrue(repository.saveGameResults(List.of(GameRecord.create("nobody", "EASY", "WIN", 10))));
+    }
+
+    private LocalGameRepository open() {
+        LocalGameRepository opened = new LocalGameRepository(file);
+        opened.initializeTables();
+        return opened;
+    }
+}
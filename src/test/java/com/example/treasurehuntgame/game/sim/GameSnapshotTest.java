@@ -0,0 +1,143 @@
+package com.example.treasurehuntgame.game.sim;
+
+import com.example.treasurehuntgame.game.core.GameDifficulty;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Encodes running games, decodes them and checks that every field, and the rest of the game, is unchanged
+class GameSnapshotTest {
+    private final LevelCache levelCache = new LevelCache();
+
+    @Test
+    void roundTripsSeededGamesMidPlay() {
+        int saved = 0;
+        for (GameDifficulty difficulty : GameDifficulty.values()) {
+            for (int game = 0; game < 50; game++) {
+                long seed = difficulty.ordinal() * 7_919L + game;
+                GameBoard board = new GameBoard(difficulty);
+                board.loadLevel(levelCache.getLevel(seed, difficulty.gridSize, difficulty.gridSize, difficulty));
+                if (assertRoundTrips(board, seed, 20 + game * 3, difficulty + " seed " + seed)) {
+                    saved++;
+                }
+            }
+        }
+        assertTrue(saved >= 100, "only " + saved + " games were still running when saved");
+    }
+
+    @Test
+    void roundTripsLargeBoardsWithManyEntities() {
+        // Wide boards give large, mixed-sign deltas between consecutive entity cells
+        int saved = 0;
+        for (int game = 0; game < 20; game++) {
+            GameBoard board = new GameBoard(GameDifficulty.MEDIUM, 300, 200);
+            board.loadLevel(levelCache.getLevel(game, 300, 200, GameDifficulty.MEDIUM));
+            if (assertRoundTrips(board, game, 30 + game, "300x200 seed " + game)) {
+                saved++;
+            }
+        }
+        assertTrue(saved >= 10, "only " + saved + " games were still running when saved");
+    }
+
+    @Test
+    void roundTripsTriggeredTraps() {
+        GameBoard board = new GameBoard(GameDifficulty.HARD, 40, 40);
+        board.clear();
+        board.setPlayer(0, 0);
+        board.setTreasure(39, 39);
+        for (int i = 0; i < 19; i++) {
+            board.addTrap((i * 13) % 40, 1 + (i * 7) % 38);
+        }
+        for (int i = 0; i < 19; i += 3) {
+            board.triggerTrap(i);
+        }
+        GameSimulation decoded = GameSnapshot.decode(ByteBuffer.wrap(GameSnapshot.encode(new GameSimulation(board))));
+        assertSameState(new GameSimulation(board), decoded, "traps");
+    }
+
+    @Test
+    void rejectsBoardSizesTheDataCannotHold() {
+        GameBoard board = new GameBoard(GameDifficulty.EASY);
+        board.initializeGame();
+        byte[] data = GameSnapshot.encode(new GameSimulation(board));
+
+        // Header is magic (4), version (1), difficulty (1), seed (8), then the width and height varints.
+        // The first size overflows an int; the second fits but needs far more wall data than is present.
+        for (int size : new int[]{1_000_000, 40_000}) {
+            byte[] huge = Arrays.copyOf(data, data.length + 8);
+            ByteBuffer header = ByteBuffer.wrap(huge, 14, 8);
+            Varint.putUnsigned(header, size);
+            Varint.putUnsigned(header, size);
+            System.arraycopy(data, 16, huge, header.position(), data.length - 16);
+            assertThrows(IllegalArgumentException.class, () -> GameSnapshot.decode(ByteBuffer.wrap(huge)));
+        }
+
+        byte[] zero = data.clone();
+        zero[14] = 0;
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.decode(ByteBuffer.wrap(zero)));
+    }
+
+    @Test
+    void rejectsTruncatedData() {
+        GameBoard board = new GameBoard(GameDifficulty.MEDIUM);
+        board.initializeGame();
+        byte[] data = GameSnapshot.encode(new GameSimulation(board));
+        for (int length = 0; length < data.length; length++) {
+            byte[] truncated = Arrays.copyOf(data, length);
+            assertThrows(RuntimeException.class, () -> GameSnapshot.decode(ByteBuffer.wrap(truncated)));
+        }
+    }
+
+    // Saves only a running game, as the autosaver does; returns false if the game had already ended
+    private boolean assertRoundTrips(GameBoard board, long seed, int ticks, String label) {
+        GameSimulation original = new GameSimulation(board);
+        SimulationHarness.play(original, new RandomBot(seed), ticks);
+        if (original.getStatus() != GameSimulation.Status.RUNNING) {
+            return false;
+        }
+
+        byte[] data = GameSnapshot.encode(original);
+        GameSimulation decoded = GameSnapshot.decode(ByteBuffer.wrap(data));
+        assertSameState(original, decoded, label);
+
+        // Both copies must now play out identically
+        SimulationHarness.play(original, new RandomBot(seed + 1), ticks * 4L);
+        SimulationHarness.play(decoded, new RandomBot(seed + 1), ticks * 4L);
+        assertSameState(original, decoded, label + " after resuming");
+        assertEquals(original.getStatus(), decoded.getStatus(), label);
+        assertEquals(original.getEndReason(), decoded.getEndReason(), label);
+        return true;
+    }
+
+    private static void assertSameState(GameSimulation expected, GameSimulation actual, String label) {
+        GameBoard a = expected.getBoard();
+        GameBoard b = actual.getBoard();
+        assertEquals(expected.getTick(), actual.getTick(), label);
+        assertEquals(expected.getLives(), actual.getLives(), label);
+        assertEquals(a.getDifficulty(), b.getDifficulty(), label);
+        assertEquals(a.getLevelSeed(), b.getLevelSeed(), label);
+        assertEquals(a.getGridWidth(), b.getGridWidth(), label);
+        assertEquals(a.getGridHeight(), b.getGridHeight(), label);
+        assertEquals(a.getPlayerX(), b.getPlayerX(), label);
+        assertEquals(a.getPlayerY(), b.getPlayerY(), label);
+        assertEquals(a.getTreasureX(), b.getTreasureX(), label);
+        assertEquals(a.getTreasureY(), b.getTreasureY(), label);
+        assertTrue(Arrays.equals(a.wallWords(), b.wallWords()), label + ": walls differ");
+        assertEquals(a.getEnemyCount(), b.getEnemyCount(), label);
+        for (int i = 0; i < a.getEnemyCount(); i++) {
+            assertEquals(a.getEnemyX(i), b.getEnemyX(i), label + " enemy " + i);
+            assertEquals(a.getEnemyY(i), b.getEnemyY(i), label + " enemy " + i);
+        }
+        assertEquals(a.getTrapCount(), b.getTrapCount(), label);
+        for (int i = 0; i < a.getTrapCount(); i++) {
+            assertEquals(a.getTrapX(i), b.getTrapX(i), label + " trap " + i);
+            assertEquals(a.getTrapY(i), b.getTrapY(i), label + " trap " + i);
+            assertEquals(a.isTrapTriggered(i), b.isTrapTriggered(i), label + " trap " + i);
+        }
+    }
+}
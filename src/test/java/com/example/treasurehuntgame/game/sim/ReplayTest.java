@@ -0,0 +1,101 @@
+package com.example.treasurehuntgame.game.sim;
+
+import com.example.treasurehuntgame.game.core.GameDifficulty;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Records seeded bot games, reads them back and re-simulates them with ReplayPlayer
+class ReplayTest {
+    private static final int GAMES_PER_DIFFICULTY = 100;
+    private static final long MAX_TICKS = 20_000;
+
+    private final LevelCache levelCache = new LevelCache();
+    private final ReplayPlayer player = new ReplayPlayer(levelCache);
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("replay-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void generatedLevelsReplayToTheRecordedOutcome() throws IOException {
+        for (GameDifficulty difficulty : GameDifficulty.values()) {
+            for (int game = 0; game < GAMES_PER_DIFFICULTY; game++) {
+                long seed = difficulty.ordinal() * 1_000_003L + game;
+                GameBoard board = new GameBoard(difficulty);
+                board.loadLevel(levelCache.getLevel(seed, difficulty.gridSize, difficulty.gridSize, difficulty));
+                PlayerController bot = game % 2 == 0 ? new RandomBot(seed) : new SeekerBot();
+                assertReplays(board, true, bot, difficulty + " seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void generatedLevelWithSeedZeroIsNotMistakenForTheBuiltInLayout() throws IOException {
+        GameDifficulty difficulty = GameDifficulty.MEDIUM;
+        GameBoard board = new GameBoard(difficulty);
+        board.loadLevel(levelCache.getLevel(0, difficulty.gridSize, difficulty.gridSize, difficulty));
+
+        Replay replay = assertReplays(board, true, new RandomBot(0), "seed 0");
+        assertTrue(replay.generatedLevel);
+        assertEquals(0L, replay.levelSeed);
+    }
+
+    @Test
+    void builtInLayoutReplaysToTheRecordedOutcome() throws IOException {
+        for (GameDifficulty difficulty : GameDifficulty.values()) {
+            GameBoard board = new GameBoard(difficulty);
+            board.initializeGame();
+            Replay replay = assertReplays(board, false, new SeekerBot(), difficulty + " built-in");
+            assertFalse(replay.generatedLevel);
+        }
+    }
+
+    private Replay assertReplays(GameBoard board, boolean generatedLevel, PlayerController bot, String label) throws IOException {
+        Path file = directory.resolve("game.thr");
+        GameSimulation recorded = new GameSimulation(board);
+        try (ReplayRecorder recorder = new ReplayRecorder(file, board, generatedLevel)) {
+            while (recorded.getStatus() == GameSimulation.Status.RUNNING && recorded.getTick() < MAX_TICKS) {
+                Direction move = bot.nextMove(recorded);
+                if (move != null) {
+                    recorder.record(recorded.getTick(), move);
+                    recorded.apply(move);
+                }
+                recorded.step();
+            }
+            recorder.finish(recorded);
+        }
+
+        Replay replay = Replay.read(file);
+        assertEquals(board.getDifficulty(), replay.difficulty, label);
+        assertEquals(recorded.getTick(), replay.finalTick, label);
+        assertEquals(recorded.getEndReason(), replay.outcome, label);
+
+        GameSimulation replayed = player.play(replay, null);
+        assertTrue(player.matches(replay, replayed), label + ": replay diverged at tick " + replayed.getTick());
+        assertEquals(recorded.getBoard().getPlayerX(), replayed.getBoard().getPlayerX(), label);
+        assertEquals(recorded.getBoard().getPlayerY(), replayed.getBoard().getPlayerY(), label);
+        return replay;
+    }
+}